@@ -24,83 +24,101 @@ import org.terasology.registry.CoreRegistry;
 import org.terasology.world.BlockEntityRegistry;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 
 /**
- * A class that provides Static information about the Defence Field.
+ * A single defence field, or arena.
+ * Provides the static information about the field, such as it's layout.
  * Dynamic information is given by {@link StatSystem}
+ * <p>
+ * All fields are created and held by the {@link DefenceFieldManager}.
  *
+ * @see DefenceFieldManager
  * @see StatSystem
  */
 public final class DefenceField {
+    /**
+     * The index of this field in the {@link DefenceFieldManager}
+     */
+    private final int id;
+    /**
+     * The location of the centre of the field.
+     * <p>
+     * This is the point enemies will path to so the enemies must be able reach it. (ie, no solid blocks there)
+     */
+    private final Vector3i centre;
     /**
      * The number of entrances the field has.
      */
-    public static int entranceCount;
+    private final int entranceCount;
     /**
      * The radius of the main outer dome.
      * Given in blocks.
      */
-    public static int outerRingSize;
+    private final int outerRingSize;
     /**
      * The radius of the clear ring around the shrine.
      * Given in blocks.
      */
-    public static int shrineRingSize;
+    private final int shrineRingSize;
     /**
      * The radius of the clear zone around the entrance.
      * Given in blocks.
      */
-    public static int entranceRingSize;
-
-    /**
-     * A boolean that controls if the field is active or not.
-     * Many systems use this to control if they are active or not
-     */
-    public static boolean fieldActivated;
-
+    private final int entranceRingSize;
     /**
-     * The data for the shrine's shape.
-     * A 1 indicates a block should be placed, and a 0 indicates an empty space
+     * The world positions of each block in the shrine.
      *
      * @see FieldConfigComponent#shrineData
      */
-    public static Vector3i[] shrineData;
+    private final Vector3i[] shrineData;
     /**
-     * The location of the centre of the field.
+     * The world location of each of the entrances.
      * <p>
-     * This is the point enemies will path to so the enemies must be able reach it. (ie, no solid blocks there)
+     * This is automatically generated from the value of {@link #entranceCount}
      */
-    public static final Vector3i FIELD_CENTRE = new Vector3i(0, 0, 0);
+    private final Vector3i[] entrances;
     /**
-     * The location of each of the entrances.
+     * Which columns inside the dome may be randomly filled.
      * <p>
-     * This is automatically generated from the value of {@link #entranceCount}
+     * Covers the square around the outer ring, indexed by {@code (x + outerRingSize) * width + (z + outerRingSize)}
+     * relative to the centre.
+     *
+     * @see #isFillable(int, int)
      */
-    private static Vector3i[] entrances;
+    private final boolean[] fillMask;
+
+    /**
+     * Controls if the field is active or not.
+     * Many systems use this to control if they are active or not
+     */
+    private boolean activated;
     /**
      * The entity representing the main shrine.
      * <p>
      * This entity is also used to send events, when no appropriate alternative is available.
      * It is set to the block entity of a block in the shrine.
      */
-    private static EntityRef shrineEntity = EntityRef.NULL;
+    private EntityRef shrineEntity = EntityRef.NULL;
 
     /**
-     * Private constructor as class is a utility class and should not be instantiated.
+     * Creates a new field around the given centre.
+     *
+     * @param id     The id of the field
+     * @param centre The world position of the centre of the field
+     * @param config The config to load the layout from
      */
-    private DefenceField() {
-    }
-
-    public static void loadFieldValues(FieldConfigComponent config) {
+    public DefenceField(int id, Vector3i centre, FieldConfigComponent config) {
+        this.id = id;
+        this.centre = new Vector3i(centre);
         entranceCount = config.entranceCount;
         shrineRingSize = config.shrineRingSize;
         outerRingSize = config.outerRingSize;
         entranceRingSize = config.entranceRingSize;
 
-        entrances = calculateEntrances(entranceCount);
+        entrances = calculateEntrances();
+        fillMask = calculateFillMask();
         shrineData = convertToVectors(config.shrineData);
     }
 
@@ -109,16 +127,16 @@ public final class DefenceField {
      * Only intended to be used once to initialise a field.
      *
      * @param rawData The human readable version of the data.
-     * @return An array of Vector3i containing the location of each one.
+     * @return An array of Vector3i containing the world location of each one.
      */
-    private static Vector3i[] convertToVectors(List<List<List<Integer>>> rawData) {
+    private Vector3i[] convertToVectors(List<List<List<Integer>>> rawData) {
         List<Vector3i> positions = new ArrayList<>();
 
         for (int y = 0; y < rawData.size(); y++) {
             for (int x = 0; x < rawData.get(y).size(); x++) {
                 for (int z = 0; z < rawData.get(y).get(x).size(); z++) {
                     if (rawData.get(y).get(x).get(z) == 1) {
-                        positions.add(new Vector3i(x, y, z));
+                        positions.add(new Vector3i(x, y, z).add(centre));
                     }
                 }
             }
@@ -131,28 +149,113 @@ public final class DefenceField {
      * Calculates the position of each entrance along the rim of the dome.
      * Only intended to be used once to initialise a field.
      *
-     * @param count The number of entrances
-     * @return An array containing the locations of the entrances.
+     * @return An array containing the world locations of the entrances.
      */
-    private static Vector3i[] calculateEntrances(int count) {
-        Vector3i[] result = new Vector3i[count];
-        double stepSize = (2 * Math.PI) / count;
-        for (int i = 0; i < count; i++) {
+    private Vector3i[] calculateEntrances() {
+        Vector3i[] result = new Vector3i[entranceCount];
+        double stepSize = (2 * Math.PI) / entranceCount;
+        for (int i = 0; i < entranceCount; i++) {
             result[i] = new Vector3i(
                     (int) (Math.cos(stepSize * i) * outerRingSize),
                     0,
                     (int) (Math.sin(stepSize * i) * outerRingSize)
-            );
+            ).add(centre);
         }
         return result;
     }
 
+    /**
+     * Calculates which columns in the field can be randomly filled.
+     * A column can be filled if it is inside the main dome, outside the shrine ring and outside every entrance ring.
+     * Only intended to be used once to initialise a field.
+     *
+     * @return The mask of fillable columns
+     * @see #fillMask
+     */
+    private boolean[] calculateFillMask() {
+        int width = 2 * outerRingSize + 1;
+        boolean[] mask = new boolean[width * width];
+        long shrineLimit = (long) shrineRingSize * shrineRingSize;
+        long outerLimit = (long) outerRingSize * outerRingSize;
+        long entranceLimit = (long) entranceRingSize * entranceRingSize;
+        for (int x = -outerRingSize; x <= outerRingSize; x++) {
+            for (int z = -outerRingSize; z <= outerRingSize; z++) {
+                long distance = (long) x * x + (long) z * z;
+                if (distance <= shrineLimit || distance >= outerLimit) {
+                    continue;
+                }
+                boolean nearEntrance = false;
+                for (Vector3i entrance : entrances) {
+                    long entranceX = x + centre.x - entrance.x;
+                    long entranceZ = z + centre.z - entrance.z;
+                    if (entranceX * entranceX + entranceZ * entranceZ < entranceLimit) {
+                        nearEntrance = true;
+                        break;
+                    }
+                }
+                mask[(x + outerRingSize) * width + z + outerRingSize] = !nearEntrance;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @return The id of this field
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @return The world position of the centre of the field.
+     */
+    public Vector3i getCentre() {
+        return centre;
+    }
+
+    public int getEntranceCount() {
+        return entranceCount;
+    }
+
+    public int getOuterRingSize() {
+        return outerRingSize;
+    }
+
+    public int getShrineRingSize() {
+        return shrineRingSize;
+    }
+
+    public int getEntranceRingSize() {
+        return entranceRingSize;
+    }
+
+    /**
+     * @return The world positions of all the shrine blocks
+     */
+    public Vector3i[] getShrineData() {
+        return shrineData;
+    }
+
+    /**
+     * @return True if the field is active. False otherwise
+     */
+    public boolean isActivated() {
+        return activated;
+    }
+
+    /**
+     * @param activated If the field should be active
+     */
+    public void setActivated(boolean activated) {
+        this.activated = activated;
+    }
+
     /**
      * @param id The id of the entrance to get
-     * @return The position of the entrance
+     * @return The world position of the entrance
      */
-    public static Vector3i entrancePos(int id) {
-        return id < entrances.length && id >= 0 ? entrances[id] : Vector3i.zero();
+    public Vector3i entrancePos(int id) {
+        return id < entrances.length && id >= 0 ? entrances[id] : centre;
     }
 
     /**
@@ -161,10 +264,10 @@ public final class DefenceField {
      *
      * @return The shrine entity, or the null entity if it can't be found
      */
-    public static EntityRef getShrineEntity() {
+    public EntityRef getShrineEntity() {
         if (!shrineEntity.exists()) {
             shrineEntity = CoreRegistry.get(BlockEntityRegistry.class).getBlockEntityAt(
-                    shrineData.length > 0 ? shrineData[0] : null);
+                    shrineData.length > 0 ? shrineData[0] : centre);
         }
         return shrineEntity;
     }
@@ -173,16 +276,53 @@ public final class DefenceField {
      * @param pos The position to check
      * @return True, if the position is inside a clear zone around any entrance. False otherwise
      */
-    public static boolean inRangeOfEntrance(BaseVector3i pos) {
+    public boolean inRangeOfEntrance(BaseVector3i pos) {
         return distanceToNearestEntrance(pos) < entranceRingSize;
     }
 
+    /**
+     * Checks if a column can have random blocks placed in it.
+     * The column must be inside the main dome, but outside of the shrine ring and any entrance ring.
+     *
+     * @param x The world x position of the column
+     * @param z The world z position of the column
+     * @return True if the column can be randomly filled, false otherwise.
+     */
+    public boolean isFillable(int x, int z) {
+        int width = 2 * outerRingSize + 1;
+        int maskX = x - centre.x + outerRingSize;
+        int maskZ = z - centre.z + outerRingSize;
+        return maskX >= 0 && maskX < width
+                && maskZ >= 0 && maskZ < width
+                && fillMask[maskX * width + maskZ];
+    }
+
     /**
      * @param pos The position to check
      * @return The distance between the position and the nearest entrance.
      */
-    public static double distanceToNearestEntrance(BaseVector3i pos) {
-        return Arrays.stream(entrances).mapToDouble(pos::distance).min().orElse(-1);
+    public double distanceToNearestEntrance(BaseVector3i pos) {
+        double min = -1;
+        for (Vector3i entrance : entrances) {
+            double distance = pos.distance(entrance);
+            if (min < 0 || distance < min) {
+                min = distance;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * @param pos The position to check
+     * @return The distance between the position and the centre of the field
+     */
+    public double distanceToCentre(BaseVector3i pos) {
+        return pos.distance(centre);
+    }
+
+    @Override
+    public String toString() {
+        return "DefenceField " + id + " at " + centre;
     }
 
     /**
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence;
+
+import org.terasology.assets.management.AssetManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.gooeyDefence.components.FieldConfigComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.BaseVector3f;
+import org.terasology.math.geom.BaseVector3i;
+import org.terasology.math.geom.Vector3i;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Creates and holds all of the defence fields hosted by this world.
+ * <p>
+ * Fields are laid out along the x axis, with the first field centred on the origin.
+ * This allows the field any position belongs to be found without a search.
+ *
+ * @see DefenceField
+ * @see FieldConfigComponent
+ */
+@RegisterSystem
+@Share(DefenceFieldManager.class)
+public class DefenceFieldManager extends BaseComponentSystem {
+    private final List<DefenceField> fields = new ArrayList<>();
+    private FieldConfigComponent fieldConfig;
+    @In
+    private AssetManager assetManager;
+
+    @Override
+    public void initialise() {
+        Optional<Prefab> prefab = assetManager.getAsset(DefenceUris.FIELD_CONFIG, Prefab.class);
+        Prefab configPrefab = prefab.orElseThrow(() -> new IllegalStateException("No field config found!"));
+        fieldConfig = configPrefab.getComponent(FieldConfigComponent.class);
+
+        fields.clear();
+        int arenaCount = Math.max(1, fieldConfig.arenaCount);
+        for (int id = 0; id < arenaCount; id++) {
+            fields.add(new DefenceField(id, new Vector3i(id * fieldConfig.arenaSpacing, 0, 0), fieldConfig));
+        }
+    }
+
+    /**
+     * @return The config all the fields were created from
+     */
+    public FieldConfigComponent getFieldConfig() {
+        return fieldConfig;
+    }
+
+    /**
+     * @return All the fields, ordered by id
+     */
+    public List<DefenceField> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * @param id The id of the field
+     * @return The field with that id
+     */
+    public DefenceField getField(int id) {
+        return fields.get(id);
+    }
+
+    /**
+     * Gets the field closest to a position.
+     * This will always return a field, even if the position is far outside all of them.
+     *
+     * @param x The x coordinate of the position
+     * @return The closest field
+     */
+    private DefenceField getNearestField(float x) {
+        if (fields.size() == 1 || fieldConfig.arenaSpacing <= 0) {
+            return fields.get(0);
+        }
+        int index = Math.round(x / fieldConfig.arenaSpacing);
+        return fields.get(Math.max(0, Math.min(fields.size() - 1, index)));
+    }
+
+    /**
+     * @param pos The position to check
+     * @return The field closest to the position
+     */
+    public DefenceField getNearestField(BaseVector3i pos) {
+        return getNearestField(pos.x());
+    }
+
+    /**
+     * @param pos The position to check
+     * @return The field closest to the position
+     */
+    public DefenceField getNearestField(BaseVector3f pos) {
+        return getNearestField(pos.x());
+    }
+
+    /**
+     * Gets the field an entity is in, based upon it's location.
+     * Entities without a location are treated as belonging to the first field.
+     *
+     * @param entity The entity to check
+     * @return The field closest to the entity
+     */
+    public DefenceField getFieldFor(EntityRef entity) {
+        LocationComponent locationComponent = entity.getComponent(LocationComponent.class);
+        if (locationComponent == null) {
+            return fields.get(0);
+        }
+        return getNearestField(locationComponent.getWorldPosition());
+    }
+}
@@ -15,30 +15,25 @@
  */
 package org.terasology.gooeyDefence;
 
-import org.terasology.assets.management.AssetManager;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.EventPriority;
 import org.terasology.entitySystem.event.ReceiveEvent;
-import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.gooeyDefence.components.DestructibleBlockComponent;
-import org.terasology.gooeyDefence.components.FieldConfigComponent;
+import org.terasology.gooeyDefence.components.FieldChangesComponent;
 import org.terasology.gooeyDefence.events.OnFieldActivated;
 import org.terasology.gooeyDefence.events.OnFieldReset;
-import org.terasology.gooeyDefence.worldGeneration.providers.RandomFillingProvider;
 import org.terasology.logic.characters.events.AttackEvent;
 import org.terasology.logic.health.DestroyEvent;
 import org.terasology.logic.health.EngineDamageTypes;
 import org.terasology.logic.inventory.events.DropItemEvent;
 import org.terasology.logic.location.LocationComponent;
-import org.terasology.math.geom.Vector2i;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
-import org.terasology.utilities.procedural.Noise;
-import org.terasology.utilities.procedural.WhiteNoise;
+import org.terasology.world.OnChangedBlock;
 import org.terasology.world.WorldProvider;
 import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockManager;
@@ -46,7 +41,10 @@ import org.terasology.world.block.entity.CreateBlockDropsEvent;
 import org.terasology.world.block.items.BlockItemFactory;
 import org.terasology.world.sun.CelestialSystem;
 
-import java.util.Optional;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Performs miscellaneous tasks not located in other tasks
@@ -57,7 +55,14 @@ import java.util.Optional;
 @Share(DefenceWorldManager.class)
 @RegisterSystem
 public class DefenceWorldManager extends BaseComponentSystem {
-    private static boolean settingUpField;
+    /**
+     * The fields that have already begun activating
+     */
+    private final Set<DefenceField> settingUpFields = new HashSet<>();
+    /**
+     * Set while a field is being reset, so that the reset itself is not recorded as a change.
+     */
+    private boolean resettingField;
     @In
     private CelestialSystem celestialSystem;
     @In
@@ -67,42 +72,31 @@ public class DefenceWorldManager extends BaseComponentSystem {
     @In
     private WorldProvider worldProvider;
     @In
-    private AssetManager assetManager;
+    private DefenceFieldManager fieldManager;
 
-    private Block air;
-    private Block shrineBlock;
-    private Block fieldBlock;
     private BlockItemFactory factory;
 
     /**
-     * Initialises the defence field
+     * Initialises a defence field.
+     * Each field will only be activated once.
+     *
+     * @param field The field to activate
      */
-    public static void activateWorld() {
-        if (!settingUpField) {
-            settingUpField = true;
-            OnFieldActivated activateEvent = new OnFieldActivated(() -> DefenceField.fieldActivated = true);
+    public void activateField(DefenceField field) {
+        if (settingUpFields.add(field)) {
+            OnFieldActivated activateEvent = new OnFieldActivated(field, () -> field.setActivated(true));
             activateEvent.beginTask();
-            DefenceField.getShrineEntity().send(activateEvent);
+            field.getShrineEntity().send(activateEvent);
             activateEvent.finishTask();
         }
     }
 
-    @Override
-    public void initialise() {
-        Optional<Prefab> prefab = assetManager.getAsset(DefenceUris.FIELD_CONFIG, Prefab.class);
-        Prefab configPrefab = prefab.orElseThrow(() -> new IllegalStateException("No field config found!"));
-        DefenceField.loadFieldValues(configPrefab.getComponent(FieldConfigComponent.class));
-    }
-
     @Override
     public void preBegin() {
         if (!celestialSystem.isSunHalted()) {
             celestialSystem.toggleSunHalting(0.5f);
         }
         factory = new BlockItemFactory(entityManager);
-        air = blockManager.getBlock(BlockManager.AIR_ID);
-        shrineBlock = blockManager.getBlock(DefenceUris.SHRINE);
-        fieldBlock = blockManager.getBlock(DefenceUris.PLAIN_WORLD_BLOCK);
     }
 
     /**
@@ -128,66 +122,73 @@ public class DefenceWorldManager extends BaseComponentSystem {
     }
 
     /**
-     * @see OnFieldReset
+     * Records the original block when a block inside a field changes.
+     * The changes are stored on the shrine entity, so they are kept when the game is saved.
+     *
+     * @see OnChangedBlock
+     * @see FieldChangesComponent
      */
     @ReceiveEvent
-    public void onFieldReset(OnFieldReset event, EntityRef entity) {
-        clearField(DefenceField.outerRingSize);
-        createRandomFill(DefenceField.outerRingSize);
+    public void onChangedBlock(OnChangedBlock event, EntityRef entity) {
+        if (resettingField) {
+            return;
+        }
+        Vector3i pos = event.getBlockPosition();
+        DefenceField field = fieldManager.getNearestField(pos);
+        if (field.distanceToCentre(pos) >= field.getOuterRingSize()) {
+            return;
+        }
+        EntityRef shrine = field.getShrineEntity();
+        if (!shrine.exists()) {
+            return;
+        }
+        FieldChangesComponent changes = shrine.getComponent(FieldChangesComponent.class);
+        if (changes == null) {
+            changes = new FieldChangesComponent();
+            changes.addChange(pos, event.getOldType().getURI().toString());
+            shrine.addComponent(changes);
+            return;
+        }
+        String original = changes.getOriginalBlock(pos);
+        if (original == null) {
+            changes.addChange(pos, event.getOldType().getURI().toString());
+        } else if (original.equals(event.getNewType().getURI().toString())) {
+            /* The block has been changed back, so there is nothing to restore */
+            changes.removeChange(pos);
+        } else {
+            return;
+        }
+        shrine.saveComponent(changes);
     }
 
     /**
-     * Clears all non world gen block from the field.
+     * Resets the blocks in the field.
      * <p>
-     * The only allowed blocks will be
-     * - {@link DefenceUris#SHRINE}
-     * - {@link BlockManager#AIR_ID}
+     * Only the blocks changed since the world was generated are restored, in a single batch.
+     * This means a reset field always returns to the layout it was generated with,
+     * rather than being given a new random layout.
      *
-     * @param size The size of the field to clear.
+     * @see OnFieldReset
+     * @see FieldChangesComponent
      */
-    private void clearField(int size) {
-        Vector3i pos = Vector3i.zero();
-        Block block;
-        for (int x = -size; x <= size; x++) {
-            /* We use circle eq "x^2 + y^2 = r^2" to work out where we need to start */
-            int width = (int) Math.floor(Math.sqrt(size * size - x * x));
-            for (int z = -width; z <= width; z++) {
-                /* We use sphere eq "x^2 + y^2 + z^2 = r^2" to work out how high we need to go */
-                int height = (int) Math.floor(Math.sqrt(size * size - z * z - x * x) - 0.001f);
-                for (int y = 0; y <= height; y++) {
-                    pos.set(x, y, z);
-                    block = worldProvider.getBlock(pos);
-                    if (block != air && block != shrineBlock) {
-                        worldProvider.setBlock(pos, air);
-                    }
-                }
-            }
+    @ReceiveEvent
+    public void onFieldReset(OnFieldReset event, EntityRef entity) {
+        EntityRef shrine = event.getField().getShrineEntity();
+        FieldChangesComponent changes = shrine.getComponent(FieldChangesComponent.class);
+        if (changes == null || changes.positions.isEmpty()) {
+            return;
         }
-    }
-
-    /**
-     * Randomly fills in an area, according to the same rules as the world gen
-     *
-     * @param size The size of the area to fill
-     * @see RandomFillingProvider
-     */
-    private void createRandomFill(int size) {
-        Noise noise = new WhiteNoise(System.currentTimeMillis());
-        Vector2i pos2i = Vector2i.zero();
-        Vector3i pos3i = Vector3i.zero();
-
-        for (int x = -size; x <= size; x++) {
-            int width = (int) Math.floor(Math.sqrt(size * size - x * x));
-            for (int y = -width; y <= width; y++) {
-                pos2i.setX(x);
-                pos2i.setY(y);
-                if (RandomFillingProvider.shouldSpawnBlock(pos2i, noise)) {
-                    pos3i.setX(pos2i.x);
-                    pos3i.setZ(pos2i.y);
-                    worldProvider.setBlock(pos3i, fieldBlock);
-                }
-            }
+        Map<Vector3i, Block> blocks = new HashMap<>(changes.positions.size() * 2);
+        for (int i = 0; i < changes.positions.size(); i++) {
+            blocks.put(changes.positions.get(i), blockManager.getBlock(changes.originalBlocks.get(i)));
+        }
+        resettingField = true;
+        try {
+            worldProvider.setBlocks(blocks);
+        } finally {
+            resettingField = false;
         }
+        changes.clear();
+        shrine.saveComponent(changes);
     }
-
 }
@@ -23,12 +23,16 @@ import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.gooeyDefence.components.GooeyComponent;
+import org.terasology.gooeyDefence.economy.EconomyManager;
 import org.terasology.gooeyDefence.economy.ValueComponent;
+import org.terasology.gooeyDefence.economy.WalletComponent;
 import org.terasology.gooeyDefence.events.OnEntrancePathCalculated;
 import org.terasology.gooeyDefence.events.OnFieldActivated;
 import org.terasology.gooeyDefence.events.OnFieldReset;
 import org.terasology.gooeyDefence.health.events.DamageEntityEvent;
 import org.terasology.gooeyDefence.health.events.EntityDeathEvent;
+import org.terasology.gooeyDefence.movement.EntrancePath;
+import org.terasology.gooeyDefence.movement.MovementSystem;
 import org.terasology.gooeyDefence.movement.PathfindingManager;
 import org.terasology.gooeyDefence.movement.components.BlankPathComponent;
 import org.terasology.gooeyDefence.movement.components.EntrancePathComponent;
@@ -36,27 +40,37 @@ import org.terasology.gooeyDefence.movement.components.MovementComponent;
 import org.terasology.gooeyDefence.movement.components.PathComponent;
 import org.terasology.gooeyDefence.movement.events.ReachedGoalEvent;
 import org.terasology.gooeyDefence.movement.events.RepathEnemyRequest;
+import org.terasology.gooeyDefence.profiling.ProfilingSystem;
+import org.terasology.gooeyDefence.profiling.SystemTimer;
 import org.terasology.logic.delay.DelayManager;
 import org.terasology.logic.inventory.events.DropItemEvent;
 import org.terasology.logic.location.LocationComponent;
-import org.terasology.math.geom.Quat4f;
 import org.terasology.math.geom.Vector3f;
-import org.terasology.math.geom.Vector3i;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Handles all enemy based actions.
+ * Enemies are tracked separately for each field.
  */
 @Share(EnemyManager.class)
 @RegisterSystem
 public class EnemyManager extends BaseComponentSystem {
 
-    private final Set<EntityRef> enemies = new HashSet<>();
+    /**
+     * The enemies alive in each field
+     */
+    private final Map<DefenceField, Set<EntityRef>> enemies = new HashMap<>();
+    /**
+     * The field each enemy belongs to
+     */
+    private final Map<EntityRef, DefenceField> enemyFields = new HashMap<>();
 
     @In
     private EntityManager entityManager;
@@ -64,9 +78,19 @@ public class EnemyManager extends BaseComponentSystem {
     private PathfindingManager pathfindingManager;
     @In
     private DelayManager delayManager;
+    @In
+    private ProfilingSystem profilingSystem;
+    @In
+    private DefenceFieldManager fieldManager;
+    private SystemTimer rangeTimer;
+
+    @Override
+    public void initialise() {
+        rangeTimer = profilingSystem.getTimer("EnemyManager.getEnemiesInRange");
+    }
 
     /**
-     * Removes all the existing enemies.
+     * Removes all the existing enemies in the field.
      * <p>
      * Sent when the field is to be reset
      *
@@ -74,55 +98,81 @@ public class EnemyManager extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onFieldReset(OnFieldReset event, EntityRef entity) {
-        enemies.forEach(EntityRef::destroy);
-        enemies.clear();
+        Set<EntityRef> fieldEnemies = getEnemySet(event.getField());
+        for (EntityRef enemy : fieldEnemies) {
+            enemyFields.remove(enemy);
+            enemy.destroy();
+        }
+        fieldEnemies.clear();
     }
 
     /**
      * Called when the field is activated.
-     * Clears the enemy store and re-scans for any enemies.
+     * Clears the enemy store for the field and re-scans for any enemies in it.
      */
     @ReceiveEvent
     public void onFieldActivated(OnFieldActivated event, EntityRef entity) {
-        enemies.clear();
-        entityManager.getEntitiesWith(GooeyComponent.class).forEach(enemies::add);
-        enemies.stream().filter(enemy -> enemy.hasComponent(EntrancePathComponent.class))
+        DefenceField field = event.getField();
+        Set<EntityRef> fieldEnemies = getEnemySet(field);
+        fieldEnemies.forEach(enemyFields::remove);
+        fieldEnemies.clear();
+        for (EntityRef enemy : entityManager.getEntitiesWith(GooeyComponent.class)) {
+            if (fieldManager.getFieldFor(enemy) == field) {
+                fieldEnemies.add(enemy);
+                enemyFields.put(enemy, field);
+            }
+        }
+        fieldEnemies.stream().filter(enemy -> enemy.hasComponent(EntrancePathComponent.class))
                 .forEach(enemy -> enemy.getComponent(EntrancePathComponent.class).setPathManager(pathfindingManager));
     }
 
     /**
      * Called when the a path is changed.
+     * Only enemies in the same field as the path are affected.
+     * <p>
+     * Finding where each enemy rejoins the new path is a constant time lookup,
+     * so this scales linearly with the number of enemies.
      *
      * @see OnEntrancePathCalculated
      */
     @ReceiveEvent
     public void onPathChanged(OnEntrancePathCalculated event, EntityRef shrineEntity) {
-        if (DefenceField.fieldActivated) {
-            for (EntityRef enemy : enemies) {
+        DefenceField field = event.getField();
+        if (field.isActivated()) {
+            EntrancePath newPath = event.getEntrancePath();
+            for (EntityRef enemy : getEnemySet(field)) {
                 /* Firstly check if the enemy is on an unchanged path */
-                if (enemy.hasComponent(EntrancePathComponent.class)) {
-                    if (enemy.getComponent(EntrancePathComponent.class).getEntranceId() != event.getPathId()) {
+                EntrancePathComponent pathComponent = enemy.getComponent(EntrancePathComponent.class);
+                if (pathComponent != null) {
+                    if (pathComponent.getEntranceId() != event.getPathId()
+                            || pathComponent.getPathVersion() == newPath.getVersion()) {
                         continue;
                     }
                 }
 
-                /* Check if the goal is on the new path */
+                /* Check if the block the enemy is on is on the new path.
+                 * The goal is not used, as it can be a waypoint far along the old path */
                 MovementComponent movementComponent = enemy.getComponent(MovementComponent.class);
-                Vector3i goal = new Vector3i(movementComponent.goal);
-                List<Vector3i> newPath = event.getNewPath();
+                Vector3f position = enemy.getComponent(LocationComponent.class).getWorldPosition();
+                int blockIndex = newPath.indexOf(Math.round(position.x), Math.round(position.y), Math.round(position.z));
 
                 enemy.removeComponent(DefenceField.getComponentExtending(enemy, PathComponent.class).getClass());
 
-                if (newPath.contains(goal)) {
-                    /* Add a entrance component starting at the given position */
+                if (blockIndex >= 0) {
+                    /* Add a entrance component heading to the next waypoint from that block */
+                    int step = newPath.getWaypointStep(blockIndex);
                     EntrancePathComponent entranceComponent = new EntrancePathComponent(
+                            field.getId(),
                             event.getPathId(),
                             pathfindingManager,
-                            newPath.indexOf(goal));
+                            step);
+                    entranceComponent.markOffPath();
+                    newPath.getWaypoint(step, movementComponent.goal);
                     enemy.addComponent(entranceComponent);
                 } else {
                     /* Enemy isn't on the new path, so we have to calculate it's own path. */
-                    enemy.addComponent(new BlankPathComponent(movementComponent.goal));
+                    movementComponent.goal.set(position);
+                    enemy.addComponent(new BlankPathComponent(new Vector3f(position)));
                     enemy.send(new RepathEnemyRequest());
                 }
             }
@@ -142,7 +192,10 @@ public class EnemyManager extends BaseComponentSystem {
     }
 
     /**
-     * Called when an enemy reaches it's movement goal. Set the next goal and consumes the event.
+     * Called when an enemy reaches the end of it's path.
+     * Damages the shrine, destroys the enemy and consumes the event.
+     * <p>
+     * Moving along the path itself is handled by the {@link MovementSystem}.
      * <p>
      * Filters on {@link GooeyComponent}
      *
@@ -151,45 +204,34 @@ public class EnemyManager extends BaseComponentSystem {
     @ReceiveEvent
     public void onReachedGoal(ReachedGoalEvent event, EntityRef entity, GooeyComponent gooeyComponent) {
         event.consume();
-        PathComponent pathComponent = DefenceField.getComponentExtending(entity, PathComponent.class);
-        if (pathComponent.atEnd()) {
-            DefenceField.getShrineEntity().send(new DamageEntityEvent(gooeyComponent.damage));
-            destroyEnemy(entity);
-        } else {
-            pathComponent.nextStep();
-            LocationComponent locationComponent = entity.getComponent(LocationComponent.class);
-            Quat4f entityRot = locationComponent.getLocalRotation();
-            Quat4f rot = new Quat4f( new Vector3f(0.0f, 1.0f, 0.0f), (float)Math.PI/2);
-            entityRot.mul(rot);
-            locationComponent.setLocalRotation(entityRot);
-            entity.saveComponent(locationComponent);
-            MovementComponent component = entity.getComponent(MovementComponent.class);
-            component.goal = pathComponent.getGoal();
-        }
+        getFieldOf(entity).getShrineEntity().send(new DamageEntityEvent(gooeyComponent.damage));
+        destroyEnemy(entity);
     }
 
     /**
-     * Spawns an enemy at the given entrance.
+     * Spawns an enemy at the given entrance of a field.
      * Also begins it travelling down the path.
      *
+     * @param field          The field to spawn in
      * @param entranceNumber The entrance to spawn at
      * @param prefab         The prefab of the enemy to spawn in.
      */
-    public void spawnEnemy(int entranceNumber, String prefab) {
-        if (!DefenceField.fieldActivated) {
+    public void spawnEnemy(DefenceField field, int entranceNumber, String prefab) {
+        if (!field.isActivated()) {
             return;
         }
 
-        EntityRef entity = entityManager.create(prefab, DefenceField.entrancePos(entranceNumber).toVector3f());
+        EntityRef entity = entityManager.create(prefab, field.entrancePos(entranceNumber).toVector3f());
 
         /* Setup pathfinding component */
-        EntrancePathComponent component = new EntrancePathComponent(entranceNumber, pathfindingManager);
+        EntrancePathComponent component = new EntrancePathComponent(field.getId(), entranceNumber, pathfindingManager);
         entity.addComponent(component);
         /* Setup movement component */
         MovementComponent movementComponent = entity.getComponent(MovementComponent.class);
         movementComponent.goal = component.getGoal();
 
-        enemies.add(entity);
+        getEnemySet(field).add(entity);
+        enemyFields.put(entity, field);
     }
 
     /**
@@ -198,30 +240,53 @@ public class EnemyManager extends BaseComponentSystem {
      * @param enemy The enemy to destroy
      */
     private void destroyEnemy(EntityRef enemy) {
-        enemies.remove(enemy);
+        DefenceField field = enemyFields.remove(enemy);
+        if (field != null) {
+            getEnemySet(field).remove(enemy);
+        }
         enemy.destroy();
     }
 
+    /**
+     * Gets the field an enemy belongs to.
+     * Falls back to the field the enemy is located in if it's not being tracked.
+     *
+     * @param enemy The enemy to get the field of
+     * @return The field the enemy is in
+     */
+    private DefenceField getFieldOf(EntityRef enemy) {
+        DefenceField field = enemyFields.get(enemy);
+        return field != null ? field : fieldManager.getFieldFor(enemy);
+    }
+
+    /**
+     * @param field The field to get the enemies for
+     * @return The modifiable set of enemies in that field.
+     */
+    private Set<EntityRef> getEnemySet(DefenceField field) {
+        return enemies.computeIfAbsent(field, key -> new HashSet<>());
+    }
+
     /**
      * Drops the amount of money an enemy had.
-     * Drops money in 5 unit increments. If the enemy has no value, then nothing is dropped
+     * <p>
+     * If a wallet in the same field is set to auto collect, the money is added to the nearest one directly.
+     * Otherwise all of the money is dropped as a single item.
+     * If the enemy has no value, then nothing is dropped
      *
      * @param enemy The enemy to drop money for
+     * @see WalletComponent#autoCollect
      */
     private void dropMoney(EntityRef enemy) {
         if (enemy.hasComponent(ValueComponent.class)) {
             Vector3f location = enemy.getComponent(LocationComponent.class).getWorldPosition();
             int value = enemy.getComponent(ValueComponent.class).value;
-
-            /* Drop the money in instances of 5 */
-            while (value >= 5) {
-                EntityRef money = entityManager.create(DefenceUris.MONEY_ITEM);
-                money.getComponent(ValueComponent.class).value = 5;
-                money.send(new DropItemEvent(location));
-                value -= 5;
+            if (value <= 0) {
+                return;
             }
-            /* Drop whatever is left, if any */
-            if (value > 0) {
+
+            EntityRef collector = getMoneyCollector(getFieldOf(enemy), location);
+            if (!collector.exists() || !EconomyManager.tryAddMoney(collector, value)) {
                 EntityRef money = entityManager.create(DefenceUris.MONEY_ITEM);
                 money.getComponent(ValueComponent.class).value = value;
                 money.send(new DropItemEvent(location));
@@ -229,22 +294,64 @@ public class EnemyManager extends BaseComponentSystem {
         }
     }
 
+    /**
+     * Finds the nearest wallet set to auto collect money within a field.
+     *
+     * @param field    The field the money was dropped in
+     * @param location The location the money was dropped at
+     * @return The entity with the wallet, or the null entity if there are none.
+     */
+    private EntityRef getMoneyCollector(DefenceField field, Vector3f location) {
+        EntityRef collector = EntityRef.NULL;
+        float closestDistance = Float.MAX_VALUE;
+        for (EntityRef entity : entityManager.getEntitiesWith(WalletComponent.class, LocationComponent.class)) {
+            if (entity.getComponent(WalletComponent.class).autoCollect && fieldManager.getFieldFor(entity) == field) {
+                float distance = entity.getComponent(LocationComponent.class).getWorldPosition().distanceSquared(location);
+                if (distance < closestDistance) {
+                    collector = entity;
+                    closestDistance = distance;
+                }
+            }
+        }
+        return collector;
+    }
+
+    /**
+     * @return The number of enemies currently alive, across all fields
+     */
+    public int getEnemyCount() {
+        return enemyFields.size();
+    }
+
+    /**
+     * @param field The field to get the enemies in
+     * @return All of the enemies alive in that field
+     */
+    public Set<EntityRef> getEnemies(DefenceField field) {
+        return Collections.unmodifiableSet(getEnemySet(field));
+    }
+
     /**
      * Obtain all the enemies that are within range of the given position.
+     * Only the enemies in the field the position is in are checked.
      *
      * @param pos   The position to look for
      * @param range The range to search in.
      * @return A set of all enemies found within this range.
      */
     public Set<EntityRef> getEnemiesInRange(Vector3f pos, float range) {
+        long start = rangeTimer.start();
         float rangeSqr = range * range;
         Set<EntityRef> result = new HashSet<>();
-        for (EntityRef enemy : enemies) {
+        Set<EntityRef> fieldEnemies = getEnemySet(fieldManager.getNearestField(pos));
+        for (EntityRef enemy : fieldEnemies) {
             Vector3f enemyPos = enemy.getComponent(LocationComponent.class).getWorldPosition();
             if (enemyPos.distanceSquared(pos) <= rangeSqr) {
                 result.add(enemy);
             }
         }
+        rangeTimer.addScanned(fieldEnemies.size());
+        rangeTimer.stop(start);
         return result;
     }
 }
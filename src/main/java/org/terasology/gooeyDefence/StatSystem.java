@@ -28,10 +28,13 @@ import org.terasology.logic.players.LocalPlayer;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
- * Keeps track of various stats within the game at a global level.
+ * Keeps track of various stats within the game.
+ * Wave and shrine stats are kept for each field, whilst the player stats are global.
  * This is dynamic information. Static information is provided by the {@link DefenceField} class
  *
  * @see DefenceField
@@ -39,7 +42,10 @@ import java.util.Optional;
 @RegisterSystem
 @Share(StatSystem.class)
 public class StatSystem extends BaseComponentSystem {
-    private int waveNumber;
+    /**
+     * The current wave number of each field
+     */
+    private final Map<DefenceField, Integer> waveNumbers = new HashMap<>();
     private int maxHealth;
 
     @In
@@ -69,26 +75,30 @@ public class StatSystem extends BaseComponentSystem {
     }
 
     /**
-     * Progress the counter to the next wave.
+     * Progress the counter of a field to the next wave.
      * It is impossible to go back a wave, hence there is no decrement option.
+     *
+     * @param field The field to progress
      */
-    public void incrementWave() {
-        waveNumber++;
+    public void incrementWave(DefenceField field) {
+        waveNumbers.merge(field, 1, Integer::sum);
     }
 
     /**
-     * @return The current wave for the game.
+     * @param field The field to get the wave of
+     * @return The current wave for the field.
      */
-    public int getWaveNumber() {
-        return waveNumber;
+    public int getWaveNumber(DefenceField field) {
+        return waveNumbers.getOrDefault(field, 0);
     }
 
     /**
+     * @param field The field the shrine is in
      * @return The current amount of health the shrine has
      */
-    public int getShrineHealth() {
-        if (DefenceField.fieldActivated) {
-            return DefenceField.getShrineEntity().getComponent(HealthComponent.class).health;
+    public int getShrineHealth(DefenceField field) {
+        if (field.isActivated()) {
+            return field.getShrineEntity().getComponent(HealthComponent.class).health;
         } else {
             return 0;
         }
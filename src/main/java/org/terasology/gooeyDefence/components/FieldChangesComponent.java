@@ -0,0 +1,110 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.components;
+
+import org.terasology.entitySystem.Component;
+import org.terasology.gooeyDefence.DefenceWorldManager;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores the blocks changed inside a field since the world was generated or the field was last reset.
+ * Each changed position is stored with the uri of the block originally there, so that resetting the field
+ * only needs to put those blocks back.
+ * <p>
+ * Added to the shrine entity of the field, so that it is saved with the game.
+ *
+ * @see DefenceWorldManager
+ */
+public class FieldChangesComponent implements Component {
+    /**
+     * The positions that have been changed
+     */
+    public List<Vector3i> positions = new ArrayList<>();
+    /**
+     * The uri of the original block at each position, in the same order
+     */
+    public List<String> originalBlocks = new ArrayList<>();
+    /**
+     * The index of each position in the lists. Rebuilt when first needed after loading.
+     */
+    private transient Map<Vector3i, Integer> indices;
+
+    /**
+     * @param pos The position to check
+     * @return The uri of the original block at the position, or null if it hasn't been changed
+     */
+    public String getOriginalBlock(Vector3i pos) {
+        Integer index = getIndices().get(pos);
+        return index == null ? null : originalBlocks.get(index);
+    }
+
+    /**
+     * Records the original block at a position that has been changed.
+     *
+     * @param pos           The position changed
+     * @param originalBlock The uri of the block that was there
+     */
+    public void addChange(Vector3i pos, String originalBlock) {
+        getIndices().put(new Vector3i(pos), positions.size());
+        positions.add(new Vector3i(pos));
+        originalBlocks.add(originalBlock);
+    }
+
+    /**
+     * Forgets the change at a position, as it has been changed back to the original block.
+     *
+     * @param pos The position to forget
+     */
+    public void removeChange(Vector3i pos) {
+        Integer index = getIndices().remove(pos);
+        if (index == null) {
+            return;
+        }
+        /* Move the last entry into the gap, so that the other indices stay the same */
+        int last = positions.size() - 1;
+        if (index != last) {
+            positions.set(index, positions.get(last));
+            originalBlocks.set(index, originalBlocks.get(last));
+            indices.put(positions.get(index), index);
+        }
+        positions.remove(last);
+        originalBlocks.remove(last);
+    }
+
+    /**
+     * Forgets all the changes.
+     */
+    public void clear() {
+        positions.clear();
+        originalBlocks.clear();
+        getIndices().clear();
+    }
+
+    private Map<Vector3i, Integer> getIndices() {
+        if (indices == null) {
+            indices = new HashMap<>();
+            for (int i = 0; i < positions.size(); i++) {
+                indices.put(positions.get(i), i);
+            }
+        }
+        return indices;
+    }
+}
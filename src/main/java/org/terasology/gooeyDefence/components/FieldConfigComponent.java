@@ -17,15 +17,17 @@ package org.terasology.gooeyDefence.components;
 
 import org.terasology.entitySystem.Component;
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 
 import java.util.ArrayList;
 import java.util.List;
 
 /**
- * Used to set values for {@link DefenceField} static class.
+ * Used to set values for each {@link DefenceField}.
  * It allows for other modules to override the values set in here for customisation
  *
  * @see DefenceField
+ * @see DefenceFieldManager
  */
 public class FieldConfigComponent implements Component {
     public int entranceCount;
@@ -33,4 +35,21 @@ public class FieldConfigComponent implements Component {
     public int outerRingSize;
     public int entranceRingSize;
     public final List<List<List<Integer>>> shrineData = new ArrayList<>();
+    /**
+     * The number of separate fields to create.
+     */
+    public int arenaCount = 1;
+    /**
+     * The distance along the x axis between the centres of neighbouring fields.
+     * Must be large enough that the domes and entrances of the fields do not overlap.
+     */
+    public int arenaSpacing = 160;
+    /**
+     * If true, each field is simulated on a separate thread.
+     */
+    public boolean parallelSimulation;
+    /**
+     * The number of threads to simulate the fields with. Zero or less uses one per processor.
+     */
+    public int simulationThreads;
 }
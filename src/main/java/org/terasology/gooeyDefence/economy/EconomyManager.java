@@ -16,21 +16,38 @@
 package org.terasology.gooeyDefence.economy;
 
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
 import org.terasology.entitySystem.event.EventPriority;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
-import org.terasology.gooeyDefence.DefenceUris;
+import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.logic.inventory.events.GiveItemEvent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.registry.In;
 import org.terasology.registry.Share;
 
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
 /**
  * Handles the requirements of the economy subsystem.
  * Contains methods to operate on entities in the system
+ * <p>
+ * Also keeps track of all the money items in the world, so that they can be removed without a search.
  */
 @RegisterSystem
 @Share(EconomyManager.class)
 public class EconomyManager extends BaseComponentSystem {
+    /**
+     * All of the money items that currently exist
+     */
+    private final Set<EntityRef> moneyItems = new HashSet<>();
+    @In
+    private DefenceFieldManager fieldManager;
 
     /**
      * Attempts to add money to an entities wallet.
@@ -39,7 +56,7 @@ public class EconomyManager extends BaseComponentSystem {
      * @param amount      The amount of money to add
      * @return True if the transaction was successful, false otherwise.
      */
-    private static boolean tryAddMoney(EntityRef destination, int amount) {
+    public static boolean tryAddMoney(EntityRef destination, int amount) {
         WalletComponent component = destination.getComponent(WalletComponent.class);
         if (component != null) {
             component.funds = component.funds + amount;
@@ -96,17 +113,58 @@ public class EconomyManager extends BaseComponentSystem {
      * Called when money is being picked up by the player. Converts it into balance in their walled
      * <p>
      * Sent against the item being given
-     * Filters on {@link ValueComponent}
+     * Filters on {@link ValueComponent} and {@link MoneyComponent}
      * Priority must be high in order to retrieve the event before the money is placed into the inventory
      *
      * @see GiveItemEvent
      */
-    @ReceiveEvent(priority = EventPriority.PRIORITY_HIGH)
+    @ReceiveEvent(components = MoneyComponent.class, priority = EventPriority.PRIORITY_HIGH)
     public void onGiveItem(GiveItemEvent event, EntityRef entity, ValueComponent valueComponent) {
-        if (entity.getParentPrefab().getName().equals(DefenceUris.MONEY_ITEM)) {
-            boolean success = tryAddMoney(event.getTargetEntity(), valueComponent.value);
-            event.setHandled(success);
-            entity.destroy();
+        boolean success = tryAddMoney(event.getTargetEntity(), valueComponent.value);
+        event.setHandled(success);
+        entity.destroy();
+    }
+
+    /**
+     * Adds a money item to the store, when it is created or loaded.
+     * <p>
+     * Filters on {@link MoneyComponent}
+     *
+     * @see OnActivatedComponent
+     */
+    @ReceiveEvent(components = MoneyComponent.class)
+    public void onMoneyActivated(OnActivatedComponent event, EntityRef entity) {
+        moneyItems.add(entity);
+    }
+
+    /**
+     * Removes a money item from the store, when it is collected or destroyed.
+     * <p>
+     * Filters on {@link MoneyComponent}
+     *
+     * @see BeforeDeactivateComponent
+     */
+    @ReceiveEvent(components = MoneyComponent.class)
+    public void onMoneyDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        moneyItems.remove(entity);
+    }
+
+    /**
+     * Destroys all the money items lying in a field.
+     * Money that has no location, such as that held in an inventory, is left alone.
+     *
+     * @param field The field to remove the money from
+     */
+    public void destroyDroppedMoney(DefenceField field) {
+        Iterator<EntityRef> iterator = moneyItems.iterator();
+        while (iterator.hasNext()) {
+            EntityRef money = iterator.next();
+            if (!money.exists()) {
+                iterator.remove();
+            } else if (money.hasComponent(LocationComponent.class) && fieldManager.getFieldFor(money) == field) {
+                iterator.remove();
+                money.destroy();
+            }
         }
     }
 }
@@ -23,14 +23,18 @@ import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.gooeyDefence.DefenceField;
 import org.terasology.gooeyDefence.DefenceUris;
 import org.terasology.gooeyDefence.events.OnFieldReset;
 import org.terasology.logic.inventory.InventoryComponent;
 import org.terasology.logic.inventory.InventoryManager;
 import org.terasology.logic.inventory.ItemComponent;
+import org.terasology.logic.console.commandSystem.annotations.Command;
+import org.terasology.logic.permission.PermissionManager;
 import org.terasology.logic.players.LocalPlayer;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
+import org.terasology.rendering.assets.mesh.Mesh;
 import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockExplorer;
 import org.terasology.world.block.BlockManager;
@@ -38,13 +42,19 @@ import org.terasology.world.block.BlockUri;
 import org.terasology.world.block.family.BlockFamily;
 import org.terasology.world.block.items.BlockItemFactory;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Handles the purchasing of blocks
+ * <p>
+ * The wares for sale are found the first time they are needed, and then cached along with the meshes used to display them.
+ * The cache is rebuilt when the game begins. Assets reloaded whilst the game is running are not noticed,
+ * so the <code>defenceRefreshShop</code> command can be used to rebuild it after changing purchasable prefabs.
  */
 @RegisterSystem
 @Share(ShopManager.class)
@@ -52,6 +62,15 @@ public class ShopManager extends BaseComponentSystem {
 
     private Set<Block> purchasableBlocks = new HashSet<>();
     private Set<Prefab> purchasableItems = new HashSet<>();
+    /**
+     * The mesh used to display each block, created as needed.
+     */
+    private final Map<Block, Mesh> blockMeshes = new HashMap<>();
+    /**
+     * Incremented every time the catalogue is rebuilt, so screens know when their wares are outdated.
+     */
+    private int catalogueVersion;
+    private boolean catalogueBuilt;
 
     @In
     private AssetManager assetManager;
@@ -63,6 +82,8 @@ public class ShopManager extends BaseComponentSystem {
     private LocalPlayer localPlayer;
     @In
     private EntityManager entityManager;
+    @In
+    private EconomyManager economyManager;
 
     private BlockItemFactory blockItemFactory;
 
@@ -89,6 +110,37 @@ public class ShopManager extends BaseComponentSystem {
     @Override
     public void postBegin() {
         blockItemFactory = new BlockItemFactory(entityManager);
+        invalidateCatalogue();
+    }
+
+    /**
+     * Marks the catalogue of wares as outdated, so it will be rebuilt the next time it is needed.
+     */
+    public void invalidateCatalogue() {
+        catalogueBuilt = false;
+        blockMeshes.clear();
+    }
+
+    /**
+     * Rebuilds the catalogue of wares, picking up any changes to the purchasable blocks and items.
+     *
+     * @return A confirmation message
+     */
+    @Command(shortDescription = "Rebuilds the Gooey Defence shop from the currently loaded assets",
+            requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String defenceRefreshShop() {
+        invalidateCatalogue();
+        buildCatalogue();
+        return "Found " + purchasableBlocks.size() + " blocks and " + purchasableItems.size() + " items for sale";
+    }
+
+    /**
+     * Finds all of the blocks and items that can be purchased, if this hasn't already been done.
+     */
+    private void buildCatalogue() {
+        if (catalogueBuilt) {
+            return;
+        }
         BlockExplorer blockExplorer = new BlockExplorer(assetManager);
 
         purchasableItems = assetManager.getLoadedAssets(Prefab.class)
@@ -108,10 +160,12 @@ public class ShopManager extends BaseComponentSystem {
                 .filter(block -> block.getPrefab().isPresent())
                 .filter(block -> block.getPrefab().get().hasComponent(PurchasableComponent.class))
                 .collect(Collectors.toSet());
+        catalogueBuilt = true;
+        catalogueVersion++;
     }
 
     /**
-     * Deletes any dropped money, resets the players money, and clears their inventory
+     * Deletes any money dropped in the field, resets the players money, and clears their inventory
      * <p>
      * Called when the field is reset.
      *
@@ -120,7 +174,7 @@ public class ShopManager extends BaseComponentSystem {
     @ReceiveEvent
     public void onFieldReset(OnFieldReset event, EntityRef entity) {
         resetMoney();
-        cleanUpMoney();
+        cleanUpMoney(event.getField());
         cleanUpInventory();
     }
 
@@ -138,30 +192,48 @@ public class ShopManager extends BaseComponentSystem {
         localPlayer.getCharacterEntity().addOrSaveComponent(component);
     }
 
-    private void cleanUpMoney() {
-        Optional<Prefab> optionalPrefab = assetManager.getAsset(DefenceUris.MONEY_ITEM, Prefab.class);
-        if (optionalPrefab.isPresent()) {
-            Prefab moneyPrefab = optionalPrefab.get();
-            for (EntityRef entityRef : entityManager.getAllEntities()) {
-                if (moneyPrefab.equals(entityRef.getParentPrefab())) {
-                    entityRef.destroy();
-                }
-            }
-        }
+    private void cleanUpMoney(DefenceField field) {
+        economyManager.destroyDroppedMoney(field);
     }
 
     /**
      * @return All the blocks for sale
      */
     public Set<Block> getAllBlocks() {
-        return purchasableBlocks;
+        buildCatalogue();
+        return Collections.unmodifiableSet(purchasableBlocks);
     }
 
     /**
      * @return All the items for sale
      */
     public Set<Prefab> getAllItems() {
-        return purchasableItems;
+        buildCatalogue();
+        return Collections.unmodifiableSet(purchasableItems);
+    }
+
+    /**
+     * @return The version of the catalogue. This changes whenever the wares for sale are rebuilt
+     */
+    public int getCatalogueVersion() {
+        buildCatalogue();
+        return catalogueVersion;
+    }
+
+    /**
+     * Gets the mesh used to display a block in the shop.
+     * The mesh is only generated once, unless it has since been disposed.
+     *
+     * @param block The block to get the mesh for
+     * @return The mesh of the block
+     */
+    public Mesh getBlockMesh(Block block) {
+        Mesh mesh = blockMeshes.get(block);
+        if (mesh == null || mesh.isDisposed()) {
+            mesh = block.getMeshGenerator().getStandaloneMesh();
+            blockMeshes.put(block, mesh);
+        }
+        return mesh;
     }
 
     /**
@@ -27,5 +27,10 @@ public class WalletComponent implements Component {
      * How much money the entity has.
      */
     public int funds;
+    /**
+     * If true, money dropped by enemies in the same field is added straight to this wallet,
+     * rather than being dropped as an item to pick up.
+     */
+    public boolean autoCollect;
 
 }
@@ -16,6 +16,8 @@
 package org.terasology.gooeyDefence.events;
 
 import org.terasology.entitySystem.event.Event;
+import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.movement.EntrancePath;
 import org.terasology.gooeyDefence.movement.PathfindingManager;
 import org.terasology.math.geom.Vector3i;
 
@@ -30,18 +32,34 @@ import java.util.List;
  * @see PathfindingManager
  */
 public class OnEntrancePathCalculated implements Event {
+    private final DefenceField field;
     private final int pathId;
-    private final List<Vector3i> newPath;
+    private final EntrancePath newPath;
 
-    public OnEntrancePathCalculated(int pathId, List<Vector3i> newPath) {
+    public OnEntrancePathCalculated(DefenceField field, int pathId, EntrancePath newPath) {
+        this.field = field;
         this.pathId = pathId;
         this.newPath = newPath;
     }
 
     /**
-     * @return The new path that was changed.
+     * @return The field the path belongs to.
+     */
+    public DefenceField getField() {
+        return field;
+    }
+
+    /**
+     * @return The blocks in the new path that was changed.
      */
     public List<Vector3i> getNewPath() {
+        return newPath.getBlocks();
+    }
+
+    /**
+     * @return The new path that was changed, along with its waypoints.
+     */
+    public EntrancePath getEntrancePath() {
         return newPath;
     }
 
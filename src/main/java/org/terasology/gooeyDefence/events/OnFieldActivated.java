@@ -16,6 +16,7 @@
 package org.terasology.gooeyDefence.events;
 
 import org.terasology.entitySystem.event.Event;
+import org.terasology.gooeyDefence.DefenceField;
 import org.terasology.gooeyDefence.components.SavedGameFlagComponent;
 
 /**
@@ -24,12 +25,24 @@ import org.terasology.gooeyDefence.components.SavedGameFlagComponent;
  * This event does not distinguish between a new game, a reset game or a game loaded from a save.
  * {@link SavedGameFlagComponent} allows for checking if a game has been saved & {@link OnFieldReset} is only sent
  * when a field is reset.
+ * <p>
+ * Sent against the shrine entity of the field being activated.
  *
  * @see CallbackEvent
  * @see OnFieldReset
  */
 public class OnFieldActivated extends CallbackEvent implements Event {
-    public OnFieldActivated(Runnable runnable) {
+    private final DefenceField field;
+
+    public OnFieldActivated(DefenceField field, Runnable runnable) {
         super(runnable);
+        this.field = field;
+    }
+
+    /**
+     * @return The field being activated
+     */
+    public DefenceField getField() {
+        return field;
     }
 }
@@ -16,20 +16,32 @@
 package org.terasology.gooeyDefence.events;
 
 import org.terasology.entitySystem.event.Event;
+import org.terasology.gooeyDefence.DefenceField;
 import org.terasology.gooeyDefence.ui.DeathScreenSystem;
 import org.terasology.logic.common.ActivateEvent;
 
 /**
  * Event sent when the reset option is chosen.
  * <p>
- * Calls on systems to reset their state to new.
+ * Calls on systems to reset their state for the given field to new.
+ * Sent against the shrine entity of that field.
  *
  * @see DeathScreenSystem
  * @see CallbackEvent
  * @see ActivateEvent
  */
 public class OnFieldReset extends CallbackEvent implements Event {
-    public OnFieldReset(Runnable runnable) {
+    private final DefenceField field;
+
+    public OnFieldReset(DefenceField field, Runnable runnable) {
         super(runnable);
+        this.field = field;
+    }
+
+    /**
+     * @return The field being reset
+     */
+    public DefenceField getField() {
+        return field;
     }
 }
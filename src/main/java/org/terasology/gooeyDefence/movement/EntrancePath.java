@@ -0,0 +1,267 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.movement;
+
+import org.terasology.math.geom.BaseVector3i;
+import org.terasology.math.geom.Vector3f;
+import org.terasology.math.geom.Vector3i;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable path from an entrance to the shrine.
+ * <p>
+ * The blocks in the path are packed into a single array, with a hash table built once to find the index of a block.
+ * The simplified waypoints enemies walk between are stored as indices into the path.
+ * Like the list form, index zero is the end of the path.
+ * <p>
+ * Each calculated path is given a new version, so enemies only need to store which step they are on and the version.
+ *
+ * @see PathfindingManager
+ * @see PathSimplifier
+ */
+public final class EntrancePath {
+    private static final int EMPTY = -1;
+    private final int version;
+    /**
+     * The x, y and z of each block in the path, one after another
+     */
+    private final int[] blocks;
+    /**
+     * The index of each waypoint in {@link #blocks}
+     */
+    private final int[] waypoints;
+    /**
+     * For each block, the waypoint to head to in order to continue along the path from it
+     */
+    private final int[] nextWaypoint;
+    /**
+     * For each waypoint, the distance left to walk from it to the end of the path
+     */
+    private final float[] remainingDistance;
+    /**
+     * Open addressed hash table from a block to its index in the path
+     */
+    private final int[] indexTable;
+    private List<Vector3i> blockList;
+
+    /**
+     * @param version   The version of this path
+     * @param path      The blocks in the path
+     * @param waypoints The index of each waypoint in the path, in order
+     */
+    EntrancePath(int version, List<Vector3i> path, int[] waypoints) {
+        this.version = version;
+        this.waypoints = waypoints;
+        blocks = new int[path.size() * 3];
+        for (int i = 0; i < path.size(); i++) {
+            Vector3i pos = path.get(i);
+            blocks[i * 3] = pos.x;
+            blocks[i * 3 + 1] = pos.y;
+            blocks[i * 3 + 2] = pos.z;
+        }
+
+        remainingDistance = new float[waypoints.length];
+        for (int i = 1; i < waypoints.length; i++) {
+            remainingDistance[i] = remainingDistance[i - 1] + distance(waypoints[i] * 3, waypoints[i - 1] * 3);
+        }
+
+        nextWaypoint = new int[path.size()];
+        int waypoint = 0;
+        for (int i = 0; i < path.size(); i++) {
+            if (waypoint + 1 < waypoints.length && waypoints[waypoint + 1] <= i) {
+                waypoint++;
+            }
+            nextWaypoint[i] = waypoint;
+        }
+
+        indexTable = new int[Integer.highestOneBit(Math.max(path.size(), 1) * 2) * 2];
+        Arrays.fill(indexTable, EMPTY);
+        for (int i = 0; i < path.size(); i++) {
+            int slot = findSlot(blocks[i * 3], blocks[i * 3 + 1], blocks[i * 3 + 2]);
+            if (indexTable[slot] == EMPTY) {
+                indexTable[slot] = i;
+            }
+        }
+    }
+
+    /**
+     * @return The version of this path
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * @return True if no path could be found
+     */
+    public boolean isEmpty() {
+        return blocks.length == 0;
+    }
+
+    /**
+     * @return The number of blocks in the path
+     */
+    public int size() {
+        return blocks.length / 3;
+    }
+
+    /**
+     * @return The number of waypoints enemies walk between
+     */
+    public int getWaypointCount() {
+        return waypoints.length;
+    }
+
+    /**
+     * Gets the position of a waypoint.
+     * The step is clamped to the waypoints in the path.
+     *
+     * @param step The waypoint to get
+     * @param out  The vector to store the position in
+     * @return The out vector. Left unchanged if the path is empty.
+     */
+    public Vector3f getWaypoint(int step, Vector3f out) {
+        if (waypoints.length > 0) {
+            int index = waypoints[Math.min(Math.max(0, step), waypoints.length - 1)] * 3;
+            out.set(blocks[index], blocks[index + 1], blocks[index + 2]);
+        }
+        return out;
+    }
+
+    /**
+     * Calculates the distance left to walk to the end of the path from a position heading to a waypoint.
+     * This is the distance to the waypoint, plus the length of the path after it.
+     *
+     * @param step The waypoint being headed to. Clamped to the waypoints in the path
+     * @param x    The x position to measure from
+     * @param y    The y position to measure from
+     * @param z    The z position to measure from
+     * @return The distance left along the path. Zero if the path is empty
+     */
+    public float getRemainingDistance(int step, float x, float y, float z) {
+        if (waypoints.length == 0) {
+            return 0;
+        }
+        int clamped = Math.min(Math.max(0, step), waypoints.length - 1);
+        int index = waypoints[clamped] * 3;
+        float dx = blocks[index] - x;
+        float dy = blocks[index + 1] - y;
+        float dz = blocks[index + 2] - z;
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz) + remainingDistance[clamped];
+    }
+
+    /**
+     * @param pos The position to look for
+     * @return The index of the block in the path, or -1 if it isn't on the path
+     */
+    public int indexOf(BaseVector3i pos) {
+        return indexOf(pos.x(), pos.y(), pos.z());
+    }
+
+    /**
+     * @param x The x position of the block
+     * @param y The y position of the block
+     * @param z The z position of the block
+     * @return The index of the block in the path, or -1 if it isn't on the path
+     */
+    public int indexOf(int x, int y, int z) {
+        return indexTable[findSlot(x, y, z)];
+    }
+
+    /**
+     * Gets the waypoint an enemy at a block on the path should head to next.
+     *
+     * @param index The index of the block in the path
+     * @return The step of the waypoint to head to
+     */
+    public int getWaypointStep(int index) {
+        return nextWaypoint[index];
+    }
+
+    /**
+     * @return The blocks in the path, as an unmodifiable list
+     */
+    public List<Vector3i> getBlocks() {
+        if (blockList == null) {
+            List<Vector3i> result = new ArrayList<>(size());
+            for (int i = 0; i < blocks.length; i += 3) {
+                result.add(new Vector3i(blocks[i], blocks[i + 1], blocks[i + 2]));
+            }
+            blockList = Collections.unmodifiableList(result);
+        }
+        return blockList;
+    }
+
+    /**
+     * @param path The blocks to compare against
+     * @return True if this path contains exactly the given blocks, in the same order
+     */
+    public boolean hasBlocks(List<Vector3i> path) {
+        if (path.size() != size()) {
+            return false;
+        }
+        for (int i = 0; i < path.size(); i++) {
+            Vector3i pos = path.get(i);
+            if (blocks[i * 3] != pos.x || blocks[i * 3 + 1] != pos.y || blocks[i * 3 + 2] != pos.z) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the slot in the hash table for a position.
+     * This is either the slot holding that position, or the empty slot it would be placed in.
+     *
+     * @param x The x position of the block
+     * @param y The y position of the block
+     * @param z The z position of the block
+     * @return The index of the slot
+     */
+    private int findSlot(int x, int y, int z) {
+        int mask = indexTable.length - 1;
+        int slot = hash(x, y, z) & mask;
+        while (indexTable[slot] != EMPTY) {
+            int index = indexTable[slot] * 3;
+            if (blocks[index] == x && blocks[index + 1] == y && blocks[index + 2] == z) {
+                break;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * @param first  The offset of the first block in {@link #blocks}
+     * @param second The offset of the second block in {@link #blocks}
+     * @return The distance between the two blocks
+     */
+    private float distance(int first, int second) {
+        int dx = blocks[first] - blocks[second];
+        int dy = blocks[first + 1] - blocks[second + 1];
+        int dz = blocks[first + 2] - blocks[second + 2];
+        return (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+
+    private static int hash(int x, int y, int z) {
+        int hash = x * 73856093 ^ y * 19349663 ^ z * 83492791;
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -15,57 +15,279 @@
  */
 package org.terasology.gooeyDefence.movement;
 
+import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
+import org.terasology.gooeyDefence.movement.components.BlankPathComponent;
+import org.terasology.gooeyDefence.movement.components.CustomPathComponent;
+import org.terasology.gooeyDefence.movement.components.EntrancePathComponent;
 import org.terasology.gooeyDefence.movement.components.MovementComponent;
+import org.terasology.gooeyDefence.movement.components.PathComponent;
 import org.terasology.gooeyDefence.movement.events.ReachedGoalEvent;
+import org.terasology.gooeyDefence.profiling.ProfilingSystem;
+import org.terasology.gooeyDefence.profiling.SystemTimer;
+import org.terasology.gooeyDefence.simulation.DeferredWrites;
+import org.terasology.gooeyDefence.simulation.FieldSimulationSystem;
 import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Quat4f;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.registry.In;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Handles moving enemies towards a goal, as dictated by their movement component.
+ * Entities are only moved while the field they are in is active.
+ * <p>
+ * Entities with a {@link PathComponent} follow the path directly, carrying any distance left over after
+ * reaching a waypoint on to the next one. A {@link ReachedGoalEvent} is only sent when they reach the end of the path.
+ * Other entities are sent the event as soon as they reach their goal.
+ * <p>
+ * Entities that are frozen, for example by a stun, are skipped until the freeze wears off.
+ * <p>
+ * The movement of each field is calculated as a separate phase of the {@link FieldSimulationSystem},
+ * with the new positions and any reached goals being applied afterwards.
  *
  * @see MovementComponent
+ * @see PathComponent
  * @see ReachedGoalEvent
  */
 @RegisterSystem
 public class MovementSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+    /**
+     * The rotations applied to an enemy for every one, two or three waypoints along the path it moves past.
+     * Enemies are turned a quarter turn for each waypoint they reach, however far apart the waypoints are.
+     * Entrance paths have a waypoint on every block, so there this is a quarter turn per block.
+     */
+    private static final Quat4f[] PATH_TURNS = {
+            new Quat4f(new Vector3f(0.0f, 1.0f, 0.0f), (float) Math.PI / 2),
+            new Quat4f(new Vector3f(0.0f, 1.0f, 0.0f), (float) Math.PI),
+            new Quat4f(new Vector3f(0.0f, 1.0f, 0.0f), 3 * (float) Math.PI / 2)
+    };
+    /**
+     * The moving entities in each active field.
+     * Reused each update to avoid rebuilding the lists.
+     */
+    private final Map<DefenceField, List<EntityRef>> entitiesByField = new LinkedHashMap<>();
     @In
     private EntityManager entityManager;
+    @In
+    private ProfilingSystem profilingSystem;
+    @In
+    private DefenceFieldManager fieldManager;
+    @In
+    private FieldSimulationSystem fieldSimulationSystem;
+    @In
+    private Time time;
+    private SystemTimer timer;
+    private float delta;
+    private long gameTime;
+
+    @Override
+    public void initialise() {
+        timer = profilingSystem.getTimer("MovementSystem.update");
+    }
 
     @Override
     public void update(float delta) {
-        if (DefenceField.fieldActivated) {
-            for (EntityRef entity : entityManager.getEntitiesWith(MovementComponent.class, LocationComponent.class)) {
-                moveEntity(entity, delta);
+        long start = timer.start();
+        this.delta = delta;
+        gameTime = time.getGameTimeInMs();
+        entitiesByField.values().forEach(List::clear);
+        int moved = 0;
+        for (EntityRef entity : entityManager.getEntitiesWith(MovementComponent.class, LocationComponent.class)) {
+            DefenceField field = fieldManager.getFieldFor(entity);
+            if (field.isActivated()) {
+                entitiesByField.computeIfAbsent(field, key -> new ArrayList<>()).add(entity);
+                moved++;
             }
         }
+        fieldSimulationSystem.runPhase("movement", entitiesByField, this::moveEntities);
+        timer.addScanned(moved);
+        timer.stop(start);
+    }
+
+    /**
+     * Moves all the entities in a field.
+     * This may be called from any thread, and so only reads from the entities.
+     *
+     * @param field    The field the entities are in
+     * @param entities The entities to move
+     * @param writes   The buffer to add the movement of the entities to
+     */
+    private void moveEntities(DefenceField field, List<EntityRef> entities, DeferredWrites writes) {
+        /* Reused when calculating the step each entity takes */
+        Vector3f heading = new Vector3f();
+        for (EntityRef entity : entities) {
+            moveEntity(entity, heading, writes);
+        }
     }
 
     /**
      * Moves an entity towards the goal as set out in the movement component.
      * Also sends an event when the goal is reached.
      *
-     * @param entity The entity to move
-     * @param delta  The time the last frame took in seconds.
+     * @param entity  The entity to move
+     * @param heading A vector to use when calculating the step
+     * @param writes  The buffer to add the movement to
      */
-    private void moveEntity(EntityRef entity, float delta) {
+    private void moveEntity(EntityRef entity, Vector3f heading, DeferredWrites writes) {
         MovementComponent movementComponent = entity.getComponent(MovementComponent.class);
         LocationComponent locationComponent = entity.getComponent(LocationComponent.class);
+        if (movementComponent.isFrozen(gameTime)) {
+            return;
+        }
 
-        float distSqr = locationComponent.getWorldPosition().distanceSquared(movementComponent.goal);
+        Vector3f position = locationComponent.getWorldPosition();
+        PathComponent pathComponent = getPathComponent(entity);
+        if (pathComponent != null) {
+            followPath(entity, movementComponent, pathComponent, position, heading, writes);
+            return;
+        }
+        float distSqr = position.distanceSquared(movementComponent.goal);
         if (distSqr < movementComponent.reachedDistance) {
-            entityReachedGoal(entity);
+            writes.add(() -> entityReachedGoal(entity));
         } else {
-            moveEntityTowardsGoal(entity, delta);
+            heading.set(movementComponent.goal)
+                    /* Calculate required heading */
+                    .sub(position)
+                    .normalize()
+                    /* Scale to the speed */
+                    .scale(movementComponent.getEffectiveSpeed() * delta);
+            /* Move the entity */
+            position.add(heading);
+            writes.add(() -> setPosition(entity, position));
         }
     }
 
+    /**
+     * Moves an entity along its path.
+     * <p>
+     * Each waypoint on the path that is reached in this update is passed straight through,
+     * with the remaining distance carried on to the next waypoint.
+     *
+     * @param entity            The entity to move
+     * @param movementComponent The movement component of the entity
+     * @param pathComponent     The path the entity is following
+     * @param position          The current position of the entity. Modified to the new position.
+     * @param heading           A vector to use when calculating the step
+     * @param writes            The buffer to add the movement to
+     */
+    private void followPath(EntityRef entity, MovementComponent movementComponent, PathComponent pathComponent,
+                            Vector3f position, Vector3f heading, DeferredWrites writes) {
+        float remaining = movementComponent.getEffectiveSpeed() * delta;
+        int step = pathComponent.getStep();
+        int stepsTaken = 0;
+        boolean reachedEnd = false;
+        /* Only copied once the entity moves on to a new goal */
+        Vector3f goal = movementComponent.goal;
+
+        while (true) {
+            float distance = position.distance(goal);
+            if (distance > remaining && distance * distance >= movementComponent.reachedDistance) {
+                heading.set(goal)
+                        /* Calculate required heading */
+                        .sub(position)
+                        .normalize()
+                        /* Scale to the distance left to travel */
+                        .scale(remaining);
+                position.add(heading);
+                break;
+            }
+            position.set(goal);
+            remaining = Math.max(0, remaining - distance);
+            if (pathComponent.isEnd(step)) {
+                reachedEnd = true;
+                break;
+            }
+            if (step == 0) {
+                /* The path doesn't go any further, so wait at the goal */
+                break;
+            }
+            step--;
+            stepsTaken++;
+            if (goal == movementComponent.goal) {
+                goal = new Vector3f();
+            }
+            pathComponent.getGoal(step, goal);
+            if (remaining <= 0) {
+                break;
+            }
+        }
+
+        int newStep = step;
+        int turns = stepsTaken;
+        boolean finished = reachedEnd;
+        Vector3f newGoal = goal;
+        writes.add(() -> applyPathMovement(entity, position, newStep, newGoal, turns, finished));
+    }
+
+    /**
+     * Applies the movement of an entity along its path.
+     *
+     * @param entity     The entity that moved
+     * @param position   The new position of the entity
+     * @param step       The new step along the path
+     * @param goal       The goal at the new step
+     * @param stepsTaken The number of waypoints the entity moved past. The entity is turned once for each
+     * @param reachedEnd True if the entity reached the end of its path
+     */
+    private void applyPathMovement(EntityRef entity, Vector3f position, int step, Vector3f goal,
+                                   int stepsTaken, boolean reachedEnd) {
+        LocationComponent locationComponent = entity.getComponent(LocationComponent.class);
+        if (locationComponent == null) {
+            return;
+        }
+        locationComponent.setWorldPosition(position);
+        if (stepsTaken % 4 != 0) {
+            Quat4f rotation = locationComponent.getLocalRotation();
+            rotation.mul(PATH_TURNS[stepsTaken % 4 - 1]);
+            locationComponent.setLocalRotation(rotation);
+        }
+        entity.saveComponent(locationComponent);
+
+        if (stepsTaken > 0) {
+            PathComponent pathComponent = getPathComponent(entity);
+            MovementComponent movementComponent = entity.getComponent(MovementComponent.class);
+            if (pathComponent != null && movementComponent != null) {
+                pathComponent.setStep(step);
+                movementComponent.goal = goal;
+            }
+        }
+        if (reachedEnd) {
+            entityReachedGoal(entity);
+        }
+    }
+
+    /**
+     * Gets the path an entity is following.
+     * The standard path components are checked directly, before falling back to scanning all the components.
+     *
+     * @param entity The entity to get the path of
+     * @return The path component, or null if the entity isn't following a path
+     */
+    private PathComponent getPathComponent(EntityRef entity) {
+        PathComponent pathComponent = entity.getComponent(EntrancePathComponent.class);
+        if (pathComponent == null) {
+            pathComponent = entity.getComponent(CustomPathComponent.class);
+        }
+        if (pathComponent == null) {
+            pathComponent = entity.getComponent(BlankPathComponent.class);
+        }
+        if (pathComponent == null && DefenceField.hasComponentExtending(entity, PathComponent.class)) {
+            pathComponent = DefenceField.getComponentExtending(entity, PathComponent.class);
+        }
+        return pathComponent;
+    }
+
     /**
      * Handles an entity reaching the goal.
      * Sends out an event for other systems to consume and deal with.
@@ -74,6 +296,9 @@ public class MovementSystem extends BaseComponentSystem implements UpdateSubscri
      * @param entity The entity that's reached the goal.
      */
     private void entityReachedGoal(EntityRef entity) {
+        if (!entity.exists()) {
+            return;
+        }
         ReachedGoalEvent event = new ReachedGoalEvent();
         entity.send(event);
         if (!event.isConsumed()) {
@@ -82,25 +307,18 @@ public class MovementSystem extends BaseComponentSystem implements UpdateSubscri
     }
 
     /**
-     * Moves an entity towards the goal.
+     * Moves an entity to a new position.
      * Does this by updating the location component on the entity.
      *
-     * @param entity The entity to move
-     * @param delta  The time the last frame took in seconds.
+     * @param entity   The entity to move
+     * @param position The new position of the entity
      */
-    private void moveEntityTowardsGoal(EntityRef entity, float delta) {
-        MovementComponent movementComponent = entity.getComponent(MovementComponent.class);
+    private void setPosition(EntityRef entity, Vector3f position) {
         LocationComponent locationComponent = entity.getComponent(LocationComponent.class);
-
-        Vector3f target = new Vector3f(movementComponent.goal)
-                /* Calculate required heading */
-                .sub(locationComponent.getWorldPosition())
-                .normalize()
-                /* Scale to the speed */
-                .scale(movementComponent.speed * delta);
-        /* Move the entity */
-        locationComponent.setWorldPosition(locationComponent.getWorldPosition().add(target));
-        entity.saveComponent(locationComponent);
+        if (locationComponent != null) {
+            locationComponent.setWorldPosition(position);
+            entity.saveComponent(locationComponent);
+        }
     }
 
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.movement;
+
+import org.terasology.math.geom.Vector3i;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reduces a path of adjacent blocks down to the blocks where the path changes direction.
+ * <p>
+ * Two blocks on the path can be joined directly if they are at the same height,
+ * and every step along the straight line between them is reachable according to the pathfinding plugin.
+ * Changes in height are always kept, as enemies can only move directly up or down.
+ *
+ * @see PathfindingManager
+ * @see EnemyWalkingPlugin
+ */
+final class PathSimplifier {
+    private final EnemyWalkingPlugin plugin;
+
+    /**
+     * @param plugin The plugin defining which movements are possible
+     */
+    PathSimplifier(EnemyWalkingPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Simplifies a path, keeping the first and last blocks.
+     *
+     * @param path The path to simplify
+     * @return A new path containing only the blocks needed to walk in straight lines between them
+     */
+    List<Vector3i> simplify(List<Vector3i> path) {
+        int[] indices = simplifyIndices(path);
+        List<Vector3i> result = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            result.add(path.get(index));
+        }
+        return result;
+    }
+
+    /**
+     * Simplifies a path, keeping the first and last blocks.
+     *
+     * @param path The path to simplify
+     * @return The indices in the path of the blocks needed to walk in straight lines between them, in order
+     */
+    int[] simplifyIndices(List<Vector3i> path) {
+        int[] result = new int[path.size()];
+        if (path.isEmpty()) {
+            return result;
+        }
+        int count = 1;
+        int anchor = 0;
+        while (anchor < path.size() - 1) {
+            int next = anchor + 1;
+            while (next + 1 < path.size() && canWalkStraight(path.get(anchor), path.get(next + 1))) {
+                next++;
+            }
+            result[count++] = next;
+            anchor = next;
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Checks if an enemy could walk in a straight line between two blocks.
+     * The line is traced block by block, and each step along it must be reachable.
+     *
+     * @param from The block to start at
+     * @param to   The block to end at
+     * @return True if the straight line between them is walkable
+     */
+    private boolean canWalkStraight(Vector3i from, Vector3i to) {
+        if (from.y != to.y) {
+            return false;
+        }
+        int deltaX = Math.abs(to.x - from.x);
+        int deltaZ = Math.abs(to.z - from.z);
+        int stepX = Integer.signum(to.x - from.x);
+        int stepZ = Integer.signum(to.z - from.z);
+        int error = deltaX - deltaZ;
+
+        Vector3i current = new Vector3i(from);
+        Vector3i next = new Vector3i();
+        while (current.x != to.x || current.z != to.z) {
+            next.set(current);
+            int doubleError = 2 * error;
+            if (doubleError > -deltaZ) {
+                error -= deltaZ;
+                next.x += stepX;
+            }
+            if (doubleError < deltaX) {
+                error += deltaX;
+                next.z += stepZ;
+            }
+            if (!plugin.isReachable(next, current)) {
+                return false;
+            }
+            current.set(next);
+        }
+        return true;
+    }
+}
@@ -22,12 +22,15 @@ import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.flexiblepathfinding.JPSConfig;
 import org.terasology.flexiblepathfinding.PathfinderSystem;
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.EnemyManager;
 import org.terasology.gooeyDefence.events.OnEntrancePathCalculated;
 import org.terasology.gooeyDefence.events.OnFieldActivated;
 import org.terasology.gooeyDefence.movement.components.BlankPathComponent;
 import org.terasology.gooeyDefence.movement.components.CustomPathComponent;
 import org.terasology.gooeyDefence.movement.events.RepathEnemyRequest;
+import org.terasology.gooeyDefence.profiling.ProfilingSystem;
+import org.terasology.gooeyDefence.profiling.SystemTimer;
 import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.registry.In;
@@ -38,13 +41,17 @@ import org.terasology.world.block.entity.placement.PlaceBlocks;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 
 /**
  * Handles calculation and storage of paths
+ * Each field has it's own set of entrance paths.
  * <p>
  * Does not move any entities, this is delegated to the {@link MovementSystem} & {@link EnemyManager}
  *
@@ -63,18 +70,39 @@ public class PathfindingManager extends BaseComponentSystem {
      * Any entities that require re-pathing.
      */
     private final Set<EntityRef> queuedEnemies = new HashSet<>();
+    /**
+     * The number of path requests that have been sent but not yet returned.
+     */
+    private final AtomicInteger requestsInFlight = new AtomicInteger();
     @In
     private PathfinderSystem pathfinderSystem;
     @In
     private WorldProvider worldProvider;
+    @In
+    private ProfilingSystem profilingSystem;
+    @In
+    private DefenceFieldManager fieldManager;
+    private SystemTimer requestTimer;
     /**
-     * The paths from each of the entrances to the shrine
+     * The paths from each of the entrances to the shrine, for each field
      */
-    private List<List<Vector3i>> paths;
+    private final Map<DefenceField, List<EntrancePath>> paths = new HashMap<>();
+    /**
+     * The version given to the last calculated path.
+     * Versions start from one each session, so zero is never a valid version.
+     */
+    private int pathVersion;
+
+    @Override
+    public void initialise() {
+        requestTimer = profilingSystem.getTimer("PathfindingManager.requestPath");
+    }
 
     @Override
     public void preBegin() {
-        paths = new ArrayList<>(Collections.nCopies(DefenceField.entranceCount, null));
+        for (DefenceField field : fieldManager.getFields()) {
+            paths.put(field, new ArrayList<>(Collections.nCopies(field.getEntranceCount(), null)));
+        }
     }
 
     /**
@@ -86,34 +114,44 @@ public class PathfindingManager extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onFieldActivated(OnFieldActivated event, EntityRef entity) {
-        for (int id = 0; id < DefenceField.entranceCount; id++) {
+        DefenceField field = event.getField();
+        for (int id = 0; id < field.getEntranceCount(); id++) {
             event.beginTask();
-            calculatePath(id, event::finishTask);
+            calculatePath(field, id, event::finishTask);
         }
     }
 
 
     /**
      * Update path on a block placed.
+     * Only the fields the blocks were placed in are updated.
      * <p>
      * This is only run when the field is activated to avoid the reset triggering it.
      */
     @ReceiveEvent
     public void onPlaceBlocks(PlaceBlocks event, EntityRef entity) {
-        if (DefenceField.fieldActivated) {
-            calculatePaths();
+        Set<DefenceField> changedFields = new HashSet<>();
+        for (Vector3i pos : event.getBlocks().keySet()) {
+            changedFields.add(fieldManager.getNearestField(pos));
+        }
+        for (DefenceField field : changedFields) {
+            if (field.isActivated()) {
+                calculatePaths(field);
+            }
         }
     }
 
     /**
      * Update path on a block removed.
+     * Only the field the block was in is updated.
      * <p>
      * This is only run when the field is activated to avoid the reset triggering it.
      */
     @ReceiveEvent
     public void onChangedBlock(OnChangedBlock event, EntityRef entity) {
-        if (DefenceField.fieldActivated) {
-            calculatePaths();
+        DefenceField field = fieldManager.getNearestField(event.getBlockPosition());
+        if (field.isActivated()) {
+            calculatePaths(field);
         }
     }
 
@@ -128,10 +166,11 @@ public class PathfindingManager extends BaseComponentSystem {
     @ReceiveEvent
     public void onRepathEnemyRequest(RepathEnemyRequest event, EntityRef entity, LocationComponent locationComponent) {
         queuedEnemies.add(entity);
-        calculatePath(buildJpsConfig(new Vector3i(locationComponent.getWorldPosition())),
+        DefenceField field = fieldManager.getNearestField(locationComponent.getWorldPosition());
+        calculatePath(buildJpsConfig(field, new Vector3i(locationComponent.getWorldPosition())),
                 path -> {
                     if (!path.isEmpty() && queuedEnemies.contains(entity)) {
-                        CustomPathComponent customPathComponent = new CustomPathComponent(path);
+                        CustomPathComponent customPathComponent = new CustomPathComponent(simplifyPath(path));
                         entity.addComponent(customPathComponent);
                         entity.removeComponent(BlankPathComponent.class);
                         queuedEnemies.remove(entity);
@@ -140,19 +179,24 @@ public class PathfindingManager extends BaseComponentSystem {
     }
 
     /**
-     * Calculate the path from an entrance to the centre.
+     * Calculate the path from an entrance to the centre of a field.
      * This callback is not invoked with the path as an argument.
      *
+     * @param field    The field the entrance is in
      * @param id       The entrance to calculate from
      * @param callback A callback to be invoked after the path calculation has finished.
      */
-    private void calculatePath(int id, Runnable callback) {
-        calculatePath(buildJpsConfig(DefenceField.entrancePos(id)),
+    private void calculatePath(DefenceField field, int id, Runnable callback) {
+        calculatePath(buildJpsConfig(field, field.entrancePos(id)),
                 (path) -> {
-                    List<Vector3i> oldPath = paths.get(id);
-                    paths.set(id, path);
-                    if (!path.equals(oldPath)) {
-                        DefenceField.getShrineEntity().send(new OnEntrancePathCalculated(id, path));
+                    List<EntrancePath> fieldPaths = paths.get(field);
+                    EntrancePath oldPath = fieldPaths.get(id);
+                    if (oldPath == null || !oldPath.hasBlocks(path)) {
+                        pathVersion++;
+                        int[] waypoints = new PathSimplifier(buildWalkingPlugin()).simplifyIndices(path);
+                        EntrancePath newPath = new EntrancePath(pathVersion, path, waypoints);
+                        fieldPaths.set(id, newPath);
+                        field.getShrineEntity().send(new OnEntrancePathCalculated(field, id, newPath));
                     }
                     if (callback != null) {
                         callback.run();
@@ -168,7 +212,11 @@ public class PathfindingManager extends BaseComponentSystem {
      * @param callback The callback to be used once the path is found.
      */
     private void calculatePath(JPSConfig config, Consumer<List<Vector3i>> callback) {
+        long start = requestTimer.start();
+        requestsInFlight.incrementAndGet();
         pathfinderSystem.requestPath(config, (path, end) -> {
+            requestsInFlight.decrementAndGet();
+            requestTimer.stop(start);
             /* In order to make the path use zero as the end, we need to flip it. */
             Collections.reverse(path);
             callback.accept(path);
@@ -176,38 +224,67 @@ public class PathfindingManager extends BaseComponentSystem {
 
     }
 
+    /**
+     * Reduces a path to the blocks an enemy needs to walk between in straight lines.
+     *
+     * @param path The path to simplify
+     * @return The simplified path
+     * @see PathSimplifier
+     */
+    private List<Vector3i> simplifyPath(List<Vector3i> path) {
+        return new PathSimplifier(buildWalkingPlugin()).simplify(path);
+    }
+
+    /**
+     * @return The plugin defining how enemies can move
+     */
+    private EnemyWalkingPlugin buildWalkingPlugin() {
+        //TODO: Replace width and height with values from enemy.
+        return new EnemyWalkingPlugin(worldProvider, 0.5f, 0.5f);
+    }
+
     /**
      * Produces a config to be used for pathfinding.
-     * Sets the path to run from the given position to the shrine.
+     * Sets the path to run from the given position to the shrine of the field.
      *
+     * @param field The field to path within
      * @param start The starting position of the path.
      * @return A new JPSConfig for the path.
      */
-    private JPSConfig buildJpsConfig(Vector3i start) {
+    private JPSConfig buildJpsConfig(DefenceField field, Vector3i start) {
         JPSConfig result = new JPSConfig();
         result.start = start;
-        result.stop = DefenceField.FIELD_CENTRE;
-        result.maxDepth = DefenceField.outerRingSize * 2;
-        //TODO: Replace width and height with values from enemy.
-        result.plugin = new EnemyWalkingPlugin(worldProvider, 0.5f, 0.5f);
+        result.stop = field.getCentre();
+        result.maxDepth = field.getOuterRingSize() * 2;
+        result.plugin = buildWalkingPlugin();
         result.maxTime = PATHFINDING_TIMEOUT;
         return result;
     }
 
     /**
-     * Calculate paths from all the entrances to the centre.
+     * Calculate paths from all the entrances to the centre of a field.
+     *
+     * @param field The field to calculate the paths for
      */
-    private void calculatePaths() {
-        for (int id = 0; id < DefenceField.entranceCount; id++) {
-            calculatePath(id, null);
+    private void calculatePaths(DefenceField field) {
+        for (int id = 0; id < field.getEntranceCount(); id++) {
+            calculatePath(field, id, null);
         }
     }
 
     /**
-     * @return All paths from entrance to centre
+     * @return The number of path requests that are still being calculated
+     */
+    public int getRequestsInFlight() {
+        return requestsInFlight.get();
+    }
+
+    /**
+     * @param field The field to get the paths for
+     * @return All paths from entrance to centre in that field
      */
-    public List<List<Vector3i>> getPaths() {
-        return paths;
+    public List<EntrancePath> getPaths(DefenceField field) {
+        return Collections.unmodifiableList(paths.get(field));
     }
 
     /**
@@ -216,10 +293,25 @@ public class PathfindingManager extends BaseComponentSystem {
      * An empty path either indicates that no path could be calculated or that
      * the entrance and shrine are located at the same position
      *
-     * @param pathID Which entrance the path should come from
+     * @param fieldId The id of the field the path is in
+     * @param pathID  Which entrance the path should come from
+     * @return The given path, or null if it doesn't exist yet.
+     */
+    public List<Vector3i> getPath(int fieldId, int pathID) {
+        EntrancePath path = getEntrancePath(fieldId, pathID);
+        return path != null ? path.getBlocks() : null;
+    }
+
+    /**
+     * Get a path, along with the simplified waypoints enemies walk between.
+     * Will return null if the path has not been calculated yet.
+     *
+     * @param fieldId The id of the field the path is in
+     * @param pathID  Which entrance the path should come from
      * @return The given path, or null if it doesn't exist yet.
+     * @see #getPath(int, int)
      */
-    public List<Vector3i> getPath(int pathID) {
-        return paths.get(pathID);
+    public EntrancePath getEntrancePath(int fieldId, int pathID) {
+        return paths.get(fieldManager.getField(fieldId)).get(pathID);
     }
 }
@@ -49,12 +49,25 @@ public class BlankPathComponent implements PathComponent {
     }
 
     @Override
-    public void nextStep() {
+    public Vector3f getGoal(int step, Vector3f out) {
+        return out.set(position);
+    }
+
+    @Override
+    public void setStep(int step) {
 
     }
 
     @Override
-    public boolean atEnd() {
+    public boolean isEnd(int step) {
         return false;
     }
+
+    /**
+     * The enemy is waiting for a path, so it is treated as being as far from the end as possible.
+     */
+    @Override
+    public float getRemainingDistance(Vector3f position) {
+        return Float.MAX_VALUE;
+    }
 }
@@ -57,14 +57,14 @@ public class CustomPathComponent implements PathComponent {
     }
 
     @Override
-    public void nextStep() {
-        step--;
-        step = Math.min(Math.max(0, step), path.size() - 1);
-        this.goal = path.get(step).toVector3f();
+    public Vector3f getGoal(int step, Vector3f out) {
+        Vector3i pos = path.get(Math.min(Math.max(0, step), path.size() - 1));
+        return out.set(pos.x, pos.y, pos.z);
     }
 
     @Override
-    public boolean atEnd() {
-        return step == 0;
+    public void setStep(int step) {
+        this.step = Math.min(Math.max(0, step), path.size() - 1);
+        this.goal = path.get(this.step).toVector3f();
     }
 }
@@ -15,11 +15,9 @@
  */
 package org.terasology.gooeyDefence.movement.components;
 
+import org.terasology.gooeyDefence.movement.EntrancePath;
 import org.terasology.gooeyDefence.movement.PathfindingManager;
 import org.terasology.math.geom.Vector3f;
-import org.terasology.math.geom.Vector3i;
-
-import java.util.List;
 
 /**
  * Moves the enemy along a path from an entrance to the shrine.
@@ -27,15 +25,28 @@ import java.util.List;
  * Doesn't store the path internally to reduce on memory, instead stores a
  * reference to the PathfindingManager that holds the path.
  * This does result in needing to re-set the pathManager every time the game is loaded/created.
+ * <p>
+ * Only the step along the path's waypoints and the version of the path the step belongs to are stored.
  *
  * @see PathfindingManager
+ * @see EntrancePath
  * @see CustomPathComponent
  * @see PathComponent
  */
 public class EntrancePathComponent implements PathComponent {
     private int step;
+    private int fieldId;
     private int entranceId;
-    private Vector3f goal;
+    /**
+     * Not saved, as path versions are only unique within a session.
+     * Loaded enemies have a version of zero, which never matches a path, so they are always remapped.
+     */
+    private transient int pathVersion;
+    /**
+     * Set when the enemy was moved onto this path from elsewhere, and so isn't yet walking between two waypoints.
+     * Cleared once the enemy reaches a waypoint.
+     */
+    private boolean offPath;
     private PathfindingManager pathManager;
 
     /**
@@ -47,26 +58,31 @@ public class EntrancePathComponent implements PathComponent {
     /**
      * Create a new entrance path component specifying the position along the path to start at.
      *
+     * @param fieldId     The ID of the field the entrance is in
      * @param entranceId  The ID of the entrance
      * @param pathManager The PathfindingManager the path is stored in
-     * @param startStep   The step to start from. This must be a valid index in the path.
+     * @param startStep   The waypoint to start from. This must be a valid waypoint in the path.
      */
-    public EntrancePathComponent(int entranceId, PathfindingManager pathManager, int startStep) {
+    public EntrancePathComponent(int fieldId, int entranceId, PathfindingManager pathManager, int startStep) {
+        this.fieldId = fieldId;
         this.entranceId = entranceId;
         this.pathManager = pathManager;
+        EntrancePath path = pathManager.getEntrancePath(fieldId, entranceId);
         /* The startStep given must be in the range of the path */
-        if (startStep < 0 || startStep > pathManager.getPath(entranceId).size() - 1) {
+        if (startStep < 0 || startStep > path.getWaypointCount() - 1) {
             throw new IllegalArgumentException();
         }
         step = startStep;
-        goal = pathManager.getPath(entranceId).get(step).toVector3f();
+        pathVersion = path.getVersion();
     }
 
-    public EntrancePathComponent(int entranceId, PathfindingManager pathManager) {
+    public EntrancePathComponent(int fieldId, int entranceId, PathfindingManager pathManager) {
+        this.fieldId = fieldId;
         this.entranceId = entranceId;
         this.pathManager = pathManager;
-        step = pathManager.getPath(entranceId).size() - 1;
-        goal = pathManager.getPath(entranceId).get(step).toVector3f();
+        EntrancePath path = pathManager.getEntrancePath(fieldId, entranceId);
+        step = path.getWaypointCount() - 1;
+        pathVersion = path.getVersion();
     }
 
     /**
@@ -86,16 +102,46 @@ public class EntrancePathComponent implements PathComponent {
 
     @Override
     public Vector3f getGoal() {
-        return goal;
+        return getGoal(step, new Vector3f());
+    }
+
+    @Override
+    public Vector3f getGoal(int step, Vector3f out) {
+        return pathManager.getEntrancePath(fieldId, entranceId).getWaypoint(step, out);
     }
 
     @Override
-    public void nextStep() {
-        List<Vector3i> path = pathManager.getPath(entranceId);
-        step--;
-        step = Math.min(Math.max(0, step), path.size() - 1);
-        goal = path.get(step).toVector3f();
+    public void setStep(int step) {
+        EntrancePath path = pathManager.getEntrancePath(fieldId, entranceId);
+        this.step = Math.min(Math.max(0, step), path.getWaypointCount() - 1);
+        offPath = false;
+    }
 
+    /**
+     * Marks that the enemy was moved onto this path, and so may be away from the line between the waypoints.
+     */
+    public void markOffPath() {
+        offPath = true;
+    }
+
+    /**
+     * @return True if the enemy has been moved onto this path and has not yet reached a waypoint on it
+     */
+    public boolean isOffPath() {
+        return offPath;
+    }
+
+    @Override
+    public float getRemainingDistance(Vector3f position) {
+        return pathManager.getEntrancePath(fieldId, entranceId)
+                .getRemainingDistance(step, position.x, position.y, position.z);
+    }
+
+    /**
+     * @return the id of the field the entrance path is in.
+     */
+    public int getFieldId() {
+        return fieldId;
     }
 
     /**
@@ -104,4 +150,12 @@ public class EntrancePathComponent implements PathComponent {
     public int getEntranceId() {
         return entranceId;
     }
+
+    /**
+     * @return the version of the path the current step belongs to.
+     * @see EntrancePath#getVersion()
+     */
+    public int getPathVersion() {
+        return pathVersion;
+    }
 }
@@ -16,11 +16,18 @@
 package org.terasology.gooeyDefence.movement.components;
 
 import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.gooeyDefence.movement.MovementSystem;
 import org.terasology.math.geom.Vector3f;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Stores information on the speed, and goal to move an entity towards.
+ * <p>
+ * The speed is the base speed of the entity. Effects that change the speed, such as slows,
+ * are added as modifiers rather than changing the base speed.
  *
  * @see MovementSystem
  */
@@ -28,6 +35,103 @@ public class MovementComponent implements Component {
     public float speed;
     public Vector3f goal = Vector3f.zero();
     public float reachedDistance = 0.1f;
+    /**
+     * The game time, in milliseconds, until which the entity is held in place.
+     * Used by stuns and other crowd control effects, rather than swapping out the path.
+     */
+    public long frozenUntil;
+    /**
+     * The speed modifiers currently applied to the entity.
+     * Not saved, so effects are reapplied by their sources.
+     */
+    private transient List<SpeedModifier> speedModifiers;
+    /**
+     * The product of all the speed modifiers.
+     * Only recalculated when a modifier is added or removed.
+     */
+    private transient float speedMultiplier = 1;
+
+    /**
+     * @param gameTime The current game time, in milliseconds
+     * @return True if the entity is currently unable to move
+     */
+    public boolean isFrozen(long gameTime) {
+        return frozenUntil > gameTime;
+    }
+
+    /**
+     * Holds the entity in place for a given time.
+     * Does not shorten any freeze already in effect.
+     *
+     * @param gameTime The current game time, in milliseconds
+     * @param duration How long to hold the entity for, in milliseconds
+     */
+    public void freeze(long gameTime, long duration) {
+        frozenUntil = Math.max(frozenUntil, gameTime + duration);
+    }
+
+    /**
+     * @return The speed of the entity, with all the modifiers applied.
+     */
+    public float getEffectiveSpeed() {
+        return speed * speedMultiplier;
+    }
+
+    /**
+     * Adds a modifier to the speed of the entity.
+     * A source can add multiple modifiers, which are each removed separately.
+     *
+     * @param source     The entity applying the modifier
+     * @param multiplier The amount to multiply the speed by
+     */
+    public void addSpeedModifier(EntityRef source, float multiplier) {
+        if (speedModifiers == null) {
+            speedModifiers = new ArrayList<>();
+        }
+        speedModifiers.add(new SpeedModifier(source, multiplier));
+        recalculateSpeedMultiplier();
+    }
+
+    /**
+     * Removes a single modifier added by a source.
+     * Does nothing if the source has no modifiers on the entity.
+     *
+     * @param source The entity that applied the modifier
+     */
+    public void removeSpeedModifier(EntityRef source) {
+        if (speedModifiers == null) {
+            return;
+        }
+        for (int i = speedModifiers.size() - 1; i >= 0; i--) {
+            if (speedModifiers.get(i).source.equals(source)) {
+                speedModifiers.remove(i);
+                recalculateSpeedMultiplier();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Recalculates the combined multiplier from scratch, so that no rounding error builds up.
+     */
+    private void recalculateSpeedMultiplier() {
+        float multiplier = 1;
+        for (SpeedModifier modifier : speedModifiers) {
+            multiplier *= modifier.multiplier;
+        }
+        speedMultiplier = multiplier;
+    }
 
+    /**
+     * A single modifier on the speed, along with where it came from.
+     */
+    private static final class SpeedModifier {
+        private final EntityRef source;
+        private final float multiplier;
 
+        private SpeedModifier(EntityRef source, float multiplier) {
+            this.source = source;
+            this.multiplier = multiplier;
+        }
+    }
 }
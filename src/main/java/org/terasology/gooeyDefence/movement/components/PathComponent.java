@@ -41,10 +41,61 @@ public interface PathComponent extends Component {
      */
     Vector3f getGoal();
 
+    /**
+     * Gets the block the enemy will move towards at a given step, without changing the current step.
+     * <p>
+     * This may be called from any thread, so must not modify the component.
+     *
+     * @param step The step to get the goal of
+     * @param out  The vector to store the goal in
+     * @return The out vector, containing the goal
+     */
+    Vector3f getGoal(int step, Vector3f out);
+
+    /**
+     * Moves the path directly to a given step.
+     *
+     * @param step The step to move to
+     */
+    void setStep(int step);
+
     /**
      * Advance internal counters to the next step.
      */
-    void nextStep();
+    default void nextStep() {
+        setStep(getStep() - 1);
+    }
+
+    /**
+     * Checks if reaching a given step means the enemy has reached the end of the path.
+     *
+     * @param step The step to check
+     * @return True if the step is the end of the path
+     */
+    default boolean isEnd(int step) {
+        return step == 0;
+    }
+
+    /**
+     * Calculates how far an enemy at a position still has to walk to reach the end of the path.
+     * This is the distance to the current goal plus the distance between every later goal.
+     * <p>
+     * This may be called from any thread, so must not modify the component.
+     *
+     * @param position The position of the enemy
+     * @return The distance left along the path
+     */
+    default float getRemainingDistance(Vector3f position) {
+        Vector3f current = new Vector3f(position);
+        Vector3f next = new Vector3f();
+        float distance = 0;
+        for (int step = getStep(); step >= 0; step--) {
+            getGoal(step, next);
+            distance += current.distance(next);
+            current.set(next);
+        }
+        return distance;
+    }
 
     /**
      * Check if the enemy is at the end of the path.
@@ -53,7 +104,7 @@ public interface PathComponent extends Component {
      * @return If the enemy is at step zero.
      */
     default boolean atEnd() {
-        return getStep() == 0;
+        return isEnd(getStep());
     }
 
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.profiling;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.logic.console.commandSystem.annotations.Command;
+import org.terasology.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.logic.permission.PermissionManager;
+import org.terasology.registry.Share;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps track of the timings of the main gameplay systems.
+ * <p>
+ * The results can be printed with the <code>defenceProfile</code> command,
+ * and are periodically dumped to the log.
+ *
+ * @see SystemTimer
+ */
+@RegisterSystem
+@Share(ProfilingSystem.class)
+public class ProfilingSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
+    private static final Logger logger = LoggerFactory.getLogger(ProfilingSystem.class);
+
+    /**
+     * All the timers, by name
+     */
+    private final Map<String, SystemTimer> timers = new TreeMap<>();
+    /**
+     * The time in seconds between each dump to the log. Zero or less disables the dump
+     */
+    private float dumpInterval = 60;
+    private float timeSinceDump;
+
+    @Override
+    public void update(float delta) {
+        synchronized (timers) {
+            for (SystemTimer timer : timers.values()) {
+                timer.endFrame();
+            }
+        }
+        if (dumpInterval > 0) {
+            timeSinceDump += delta;
+            if (timeSinceDump >= dumpInterval) {
+                timeSinceDump = 0;
+                logger.info(buildReport());
+            }
+        }
+    }
+
+    /**
+     * Gets the timer with the given name, creating it if needed.
+     * Systems should fetch their timers once and keep them.
+     *
+     * @param name The name of the timer
+     * @return The timer for that name
+     */
+    public SystemTimer getTimer(String name) {
+        synchronized (timers) {
+            return timers.computeIfAbsent(name, SystemTimer::new);
+        }
+    }
+
+    /**
+     * @return A snapshot of all the timers, ordered by name
+     */
+    public Collection<SystemTimer> getTimers() {
+        synchronized (timers) {
+            return Collections.unmodifiableCollection(new TreeMap<>(timers).values());
+        }
+    }
+
+    /**
+     * Prints the current timings of the gameplay systems.
+     *
+     * @return The timings of each system
+     */
+    @Command(shortDescription = "Prints the timings of the Gooey Defence systems",
+            runOnServer = true,
+            requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String defenceProfile() {
+        return buildReport();
+    }
+
+    /**
+     * Resets all the timers.
+     *
+     * @return A confirmation message
+     */
+    @Command(shortDescription = "Resets the timings of the Gooey Defence systems",
+            runOnServer = true,
+            requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String defenceProfileReset() {
+        getTimers().forEach(SystemTimer::reset);
+        return "Timers reset";
+    }
+
+    /**
+     * Sets how often the timings are written to the log.
+     *
+     * @param seconds The seconds between each dump. Zero disables it
+     * @return A confirmation message
+     */
+    @Command(shortDescription = "Sets how often the Gooey Defence timings are logged",
+            helpText = "Sets the interval in seconds between each dump of the timings to the log. Use 0 to disable",
+            runOnServer = true,
+            requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String defenceProfileInterval(@CommandParam("seconds") float seconds) {
+        dumpInterval = seconds;
+        timeSinceDump = 0;
+        return dumpInterval > 0
+                ? "Logging timings every " + dumpInterval + " seconds"
+                : "Logging of timings disabled";
+    }
+
+    /**
+     * @return A line for each timer with all of it's values
+     */
+    private String buildReport() {
+        StringBuilder builder = new StringBuilder("Gooey Defence timings:");
+        for (SystemTimer timer : getTimers()) {
+            builder.append('\n').append(timer);
+        }
+        return builder.toString();
+    }
+}
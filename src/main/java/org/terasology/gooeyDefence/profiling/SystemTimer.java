@@ -0,0 +1,203 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.profiling;
+
+import java.util.Arrays;
+
+/**
+ * Collects timings and counters for a single instrumented system or method.
+ * <p>
+ * The most recent timings are kept in a ring buffer so that percentiles can be calculated
+ * without keeping every sample.
+ *
+ * @see ProfilingSystem
+ */
+public class SystemTimer {
+    /**
+     * The number of timings kept for the percentile calculations
+     */
+    private static final int SAMPLE_COUNT = 512;
+    private static final float NANOS_PER_MILLI = 1000000f;
+
+    private final String name;
+    private final long[] samples = new long[SAMPLE_COUNT];
+    /**
+     * The index the next sample will be written to
+     */
+    private int sampleIndex;
+    /**
+     * The number of samples in the buffer that are valid
+     */
+    private int sampleCount;
+
+    private long invocations;
+    private long enemiesScanned;
+    private long allocationsAvoided;
+    private long totalNanos;
+    /**
+     * Time spent since the end of the last frame
+     */
+    private long frameNanos;
+    /**
+     * Time spent during the last complete frame, in milliseconds
+     */
+    private float lastFrameMillis;
+
+    public SystemTimer(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Begins timing an invocation.
+     *
+     * @return The start time to pass into {@link #stop(long)}
+     */
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Ends timing an invocation and records the sample.
+     *
+     * @param startTime The value returned by {@link #start()}
+     */
+    public synchronized void stop(long startTime) {
+        addSample(System.nanoTime() - startTime);
+    }
+
+    /**
+     * Records a batch of invocations timed elsewhere.
+     *
+     * @param durations The duration of each invocation, in nanoseconds
+     * @param count     The number of durations that are valid
+     * @param scanned   The total number of enemies that were iterated over
+     * @see TimerBatch
+     */
+    public synchronized void addSamples(long[] durations, int count, long scanned) {
+        for (int i = 0; i < count; i++) {
+            addSample(durations[i]);
+        }
+        enemiesScanned += scanned;
+    }
+
+    /**
+     * Records a single invocation.
+     *
+     * @param duration How long the invocation took, in nanoseconds
+     */
+    private void addSample(long duration) {
+        samples[sampleIndex] = duration;
+        sampleIndex = (sampleIndex + 1) % SAMPLE_COUNT;
+        sampleCount = Math.min(sampleCount + 1, SAMPLE_COUNT);
+        invocations++;
+        totalNanos += duration;
+        frameNanos += duration;
+    }
+
+    /**
+     * @param count The number of enemies that were iterated over
+     */
+    public synchronized void addScanned(int count) {
+        enemiesScanned += count;
+    }
+
+    /**
+     * @param count The number of objects that were reused instead of being created
+     */
+    public synchronized void addAllocationsAvoided(int count) {
+        allocationsAvoided += count;
+    }
+
+    /**
+     * Marks the end of a frame, making the time spent during it available.
+     */
+    synchronized void endFrame() {
+        lastFrameMillis = frameNanos / NANOS_PER_MILLI;
+        frameNanos = 0;
+    }
+
+    /**
+     * Clears all the counters and samples.
+     */
+    public synchronized void reset() {
+        sampleIndex = 0;
+        sampleCount = 0;
+        invocations = 0;
+        enemiesScanned = 0;
+        allocationsAvoided = 0;
+        totalNanos = 0;
+        frameNanos = 0;
+        lastFrameMillis = 0;
+    }
+
+    /**
+     * Calculates a percentile over the recent samples.
+     *
+     * @param percentile The percentile to get, between 0 and 1
+     * @return The time at that percentile, in milliseconds. Zero if there are no samples
+     */
+    public synchronized float getPercentile(float percentile) {
+        if (sampleCount == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, sampleCount);
+        Arrays.sort(sorted);
+        int index = Math.min(sampleCount - 1, (int) Math.ceil(percentile * sampleCount) - 1);
+        return sorted[Math.max(0, index)] / NANOS_PER_MILLI;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized long getInvocations() {
+        return invocations;
+    }
+
+    public synchronized long getEnemiesScanned() {
+        return enemiesScanned;
+    }
+
+    public synchronized long getAllocationsAvoided() {
+        return allocationsAvoided;
+    }
+
+    /**
+     * @return The total time spent over all invocations, in milliseconds
+     */
+    public synchronized float getTotalMillis() {
+        return totalNanos / NANOS_PER_MILLI;
+    }
+
+    /**
+     * @return The time spent during the last frame, in milliseconds
+     */
+    public synchronized float getFrameMillis() {
+        return lastFrameMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: calls=%d scanned=%d avoided=%d total=%.2fms p50=%.3fms p99=%.3fms",
+                name,
+                getInvocations(),
+                getEnemiesScanned(),
+                getAllocationsAvoided(),
+                getTotalMillis(),
+                getPercentile(0.5f),
+                getPercentile(0.99f));
+    }
+}
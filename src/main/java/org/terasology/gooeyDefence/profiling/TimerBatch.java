@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.profiling;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Collects timings locally, so that they can be added to their {@link SystemTimer}s all at once.
+ * <p>
+ * Used by tasks running on worker threads, so that each timer is only locked once per task
+ * rather than once per timed call. A batch is not thread safe, so each task needs it's own.
+ *
+ * @see SystemTimer
+ */
+public class TimerBatch {
+    private final Map<SystemTimer, Samples> samples = new IdentityHashMap<>();
+
+    /**
+     * Records a finished invocation against a timer.
+     *
+     * @param timer     The timer the invocation belongs to
+     * @param startTime The value returned by {@link SystemTimer#start()}
+     * @param scanned   The number of enemies that were iterated over
+     */
+    public void record(SystemTimer timer, long startTime, int scanned) {
+        long duration = System.nanoTime() - startTime;
+        samples.computeIfAbsent(timer, key -> new Samples()).add(duration, scanned);
+    }
+
+    /**
+     * Adds every recorded invocation to it's timer, and empties the batch.
+     */
+    public void commit() {
+        for (Map.Entry<SystemTimer, Samples> entry : samples.entrySet()) {
+            Samples timings = entry.getValue();
+            entry.getKey().addSamples(timings.durations, timings.count, timings.scanned);
+        }
+        samples.clear();
+    }
+
+    /**
+     * The invocations recorded for a single timer.
+     */
+    private static final class Samples {
+        private long[] durations = new long[8];
+        private int count;
+        private long scanned;
+
+        private void add(long duration, int scannedCount) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = duration;
+            scanned += scannedCount;
+        }
+    }
+}
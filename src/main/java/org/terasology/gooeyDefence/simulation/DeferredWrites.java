@@ -0,0 +1,59 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the entity writes produced by a field while a phase is being simulated.
+ * <p>
+ * The entity system may only be written to from the game thread, so phases running on the
+ * simulation pool record their writes here instead. They are then run once every field has finished.
+ *
+ * @see FieldSimulationSystem
+ */
+public class DeferredWrites {
+    private final List<Runnable> writes = new ArrayList<>();
+
+    /**
+     * Adds a write to be run during the commit phase.
+     * Writes are run in the order they were added.
+     *
+     * @param write The write to run
+     */
+    public void add(Runnable write) {
+        writes.add(write);
+    }
+
+    /**
+     * @return The number of writes waiting to be committed
+     */
+    public int size() {
+        return writes.size();
+    }
+
+    /**
+     * Runs all of the writes, and empties the buffer.
+     * Must only be called from the game thread.
+     */
+    void commit() {
+        for (Runnable write : writes) {
+            write.run();
+        }
+        writes.clear();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.simulation;
+
+import org.terasology.gooeyDefence.DefenceField;
+
+/**
+ * A single step of the simulation, run separately for each field.
+ * <p>
+ * Implementations may be called from any thread, so must only read from the entity system.
+ * Any changes to entities should be added to the writes buffer.
+ *
+ * @param <T> The type of the work handed to each field
+ * @see FieldSimulationSystem#runPhase(String, java.util.Map, FieldPhase)
+ */
+@FunctionalInterface
+public interface FieldPhase<T> {
+    /**
+     * Simulates the phase for a single field.
+     *
+     * @param field  The field being simulated
+     * @param work   The work for this field
+     * @param writes The buffer to add any entity writes to
+     */
+    void run(DefenceField field, T work, DeferredWrites writes);
+}
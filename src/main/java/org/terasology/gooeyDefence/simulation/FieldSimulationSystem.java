@@ -0,0 +1,187 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.simulation;
+
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
+import org.terasology.gooeyDefence.components.FieldConfigComponent;
+import org.terasology.gooeyDefence.profiling.ProfilingSystem;
+import org.terasology.gooeyDefence.profiling.SystemTimer;
+import org.terasology.logic.console.commandSystem.annotations.Command;
+import org.terasology.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.logic.permission.PermissionManager;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs the phases of the simulation for each field.
+ * <p>
+ * Fields never interact with each other, so when parallel simulation is enabled each field
+ * is simulated on a separate worker of a fork-join pool. Phases only read from the entity system
+ * whilst running, and record their writes into a {@link DeferredWrites} buffer.
+ * Once every field has finished, the buffers are committed one after another on the game thread.
+ * <p>
+ * When disabled, or when there is only one field to simulate, the phase is simply run on the game thread.
+ *
+ * @see FieldPhase
+ * @see FieldConfigComponent#parallelSimulation
+ */
+@RegisterSystem
+@Share(FieldSimulationSystem.class)
+public class FieldSimulationSystem extends BaseComponentSystem {
+    /**
+     * The timers for each phase, by name
+     */
+    private final Map<String, SystemTimer> phaseTimers = new HashMap<>();
+    /**
+     * The buffer used when running a phase on the game thread
+     */
+    private final DeferredWrites serialWrites = new DeferredWrites();
+    @In
+    private DefenceFieldManager fieldManager;
+    @In
+    private ProfilingSystem profilingSystem;
+    /**
+     * The pool used to simulate the fields. Null if parallel simulation is disabled
+     */
+    private ForkJoinPool pool;
+
+    @Override
+    public void postBegin() {
+        FieldConfigComponent config = fieldManager.getFieldConfig();
+        setParallel(config.parallelSimulation);
+    }
+
+    @Override
+    public void shutdown() {
+        setParallel(false);
+    }
+
+    /**
+     * Runs a phase of the simulation for each of the given fields.
+     * <p>
+     * The writes made by each field are committed in the iteration order of the map,
+     * regardless of the order the fields finished in.
+     *
+     * @param name        The name of the phase, used for profiling
+     * @param workByField The work to hand to each field
+     * @param phase       The phase to run
+     * @param <T>         The type of the work handed to each field
+     */
+    public <T> void runPhase(String name, Map<DefenceField, T> workByField, FieldPhase<T> phase) {
+        SystemTimer timer = phaseTimers.computeIfAbsent(name, key ->
+                profilingSystem.getTimer("FieldSimulationSystem." + key));
+        long start = timer.start();
+        if (pool == null || workByField.size() < 2) {
+            for (Map.Entry<DefenceField, T> entry : workByField.entrySet()) {
+                phase.run(entry.getKey(), entry.getValue(), serialWrites);
+                serialWrites.commit();
+            }
+        } else {
+            runParallel(workByField, phase);
+        }
+        timer.addScanned(workByField.size());
+        timer.stop(start);
+    }
+
+    /**
+     * Runs a phase for each field on the pool, and then commits their writes.
+     * If any field fails, no writes are committed and the failure is rethrown.
+     *
+     * @param workByField The work to hand to each field
+     * @param phase       The phase to run
+     * @param <T>         The type of the work handed to each field
+     */
+    private <T> void runParallel(Map<DefenceField, T> workByField, FieldPhase<T> phase) {
+        List<DeferredWrites> buffers = new ArrayList<>(workByField.size());
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(workByField.size());
+        for (Map.Entry<DefenceField, T> entry : workByField.entrySet()) {
+            DeferredWrites writes = new DeferredWrites();
+            buffers.add(writes);
+            tasks.add(pool.submit(() -> phase.run(entry.getKey(), entry.getValue(), writes)));
+        }
+
+        RuntimeException failure = null;
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                task.join();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+
+        for (DeferredWrites writes : buffers) {
+            writes.commit();
+        }
+    }
+
+    /**
+     * @return True if fields are being simulated in parallel
+     */
+    public boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * Enables or disables parallel simulation of the fields.
+     *
+     * @param parallel True if the fields should be simulated in parallel
+     */
+    public void setParallel(boolean parallel) {
+        if (parallel && pool == null) {
+            int threads = fieldManager.getFieldConfig().simulationThreads;
+            if (threads <= 0) {
+                threads = Runtime.getRuntime().availableProcessors();
+            }
+            pool = new ForkJoinPool(Math.min(threads, fieldManager.getFields().size()));
+        } else if (!parallel && pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    /**
+     * Enables or disables parallel simulation of the fields.
+     *
+     * @param enabled True if the fields should be simulated in parallel
+     * @return A confirmation message
+     */
+    @Command(shortDescription = "Toggles simulating the Gooey Defence fields in parallel",
+            runOnServer = true,
+            requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String defenceParallel(@CommandParam("enabled") boolean enabled) {
+        setParallel(enabled);
+        return enabled
+                ? "Simulating " + fieldManager.getFields().size() + " fields in parallel"
+                : "Simulating fields on the game thread";
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.towers;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.gooeyDefence.towers.components.TowerTargeter;
+
+import java.util.Collection;
+
+/**
+ * The enemies a targeter affected with it's last attack.
+ * <p>
+ * The enemies are stored sorted by their entity id, so the change between two attacks can be found with a
+ * single merge of the old and new targets. The arrays are reused between attacks, so nothing is allocated
+ * once they are large enough to hold the targets.
+ *
+ * @see TowerTargeter
+ * @see TowerManager
+ */
+public final class TargetMembership {
+    private long[] ids = new long[0];
+    private EntityRef[] enemies = new EntityRef[0];
+    private int size;
+    /**
+     * The arrays the next targets are sorted into, swapped with the current arrays after each update
+     */
+    private long[] nextIds = new long[0];
+    private EntityRef[] nextEnemies = new EntityRef[0];
+
+    /**
+     * Replaces the affected enemies with a new set of targets.
+     * Each target is passed to the listener, marked with if it is newly targeted,
+     * and each enemy that is no longer targeted is passed to the listener afterwards.
+     *
+     * @param targets  The new targets. Must not contain duplicates
+     * @param listener The listener to call with the changes
+     * @return True if the existing arrays were reused, false if they had to grow
+     */
+    public boolean update(Collection<EntityRef> targets, Listener listener) {
+        int newSize = targets.size();
+        boolean reused = nextIds.length >= newSize;
+        if (!reused) {
+            nextIds = new long[newSize];
+            nextEnemies = new EntityRef[newSize];
+        }
+        int count = 0;
+        for (EntityRef target : targets) {
+            nextIds[count] = target.getId();
+            nextEnemies[count] = target;
+            count++;
+        }
+        sort(nextIds, nextEnemies, newSize);
+
+        int oldIndex = 0;
+        int newIndex = 0;
+        while (newIndex < newSize) {
+            if (oldIndex < size && ids[oldIndex] < nextIds[newIndex]) {
+                listener.onUntargeted(enemies[oldIndex++]);
+            } else if (oldIndex < size && ids[oldIndex] == nextIds[newIndex]) {
+                listener.onTargeted(nextEnemies[newIndex++], false);
+                oldIndex++;
+            } else {
+                listener.onTargeted(nextEnemies[newIndex++], true);
+            }
+        }
+        while (oldIndex < size) {
+            listener.onUntargeted(enemies[oldIndex++]);
+        }
+
+        swap(newSize);
+        return reused;
+    }
+
+    /**
+     * Removes all the affected enemies, passing each one to the listener.
+     *
+     * @param listener The listener to call with the removed enemies
+     */
+    public void clear(Listener listener) {
+        for (int i = 0; i < size; i++) {
+            listener.onUntargeted(enemies[i]);
+        }
+        swap(0);
+    }
+
+    /**
+     * @return The number of affected enemies
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param index The index of the enemy, between zero and {@link #size()}
+     * @return The affected enemy at that index
+     */
+    public EntityRef get(int index) {
+        return enemies[index];
+    }
+
+    /**
+     * Makes the sorted next targets the current ones, and clears the references held by the old arrays.
+     *
+     * @param newSize The number of next targets
+     */
+    private void swap(int newSize) {
+        for (int i = 0; i < size; i++) {
+            enemies[i] = null;
+        }
+        long[] oldIds = ids;
+        EntityRef[] oldEnemies = enemies;
+        ids = nextIds;
+        enemies = nextEnemies;
+        nextIds = oldIds;
+        nextEnemies = oldEnemies;
+        size = newSize;
+    }
+
+    /**
+     * Sorts the enemies by their id.
+     * An insertion sort is used as the targets are few and usually close to sorted already.
+     *
+     * @param keys   The ids to sort by
+     * @param values The enemies, in the same order as their ids
+     * @param length The number of enemies to sort
+     */
+    private static void sort(long[] keys, EntityRef[] values, int length) {
+        for (int i = 1; i < length; i++) {
+            long key = keys[i];
+            EntityRef value = values[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    /**
+     * Receives the changes to the affected enemies.
+     */
+    public interface Listener {
+        /**
+         * Called for each enemy targeted by the attack.
+         *
+         * @param enemy The targeted enemy
+         * @param isNew True if the enemy was not affected by the last attack
+         */
+        void onTargeted(EntityRef enemy, boolean isNew);
+
+        /**
+         * Called for each enemy that was affected by the last attack but is no longer targeted.
+         *
+         * @param enemy The enemy no longer targeted
+         */
+        void onUntargeted(EntityRef enemy);
+    }
+}
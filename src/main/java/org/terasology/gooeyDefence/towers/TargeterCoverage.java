@@ -0,0 +1,278 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.towers;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.movement.EntrancePath;
+import org.terasology.gooeyDefence.towers.components.TowerTargeter;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the steps along each entrance path to the targeters whose range covers them.
+ * <p>
+ * An enemy on step {@code n} of a path is walking in a straight line from waypoint {@code n + 1} to waypoint
+ * {@code n}, so a targeter covers a step if it's range reaches any point on that line.
+ * The coverage of a path is calculated the first time an enemy is found on it, and thrown away when the path
+ * is replaced by a newly calculated one. Targeters that are added, removed or have their range changed are
+ * updated in the existing coverage, so the rest of the coverage does not need to be recalculated.
+ *
+ * @see TowerManager
+ * @see EntrancePath
+ */
+final class TargeterCoverage {
+    /**
+     * Added to the range of each targeter, as enemies are not exactly on the line between the waypoints
+     */
+    private static final float RANGE_MARGIN = 1.5f;
+    private static final EntityRef[] NO_TARGETERS = new EntityRef[0];
+
+    /**
+     * The targeters in each field
+     */
+    private final Map<DefenceField, List<EntityRef>> fieldTargeters = new HashMap<>();
+    /**
+     * The coverage of each path
+     */
+    private final Map<EntrancePath, PathCoverage> coverage = new HashMap<>();
+    private int stamp;
+
+    /**
+     * Adds a targeter to a field.
+     *
+     * @param field    The field the targeter is in
+     * @param targeter The targeter to add
+     */
+    void addTargeter(DefenceField field, EntityRef targeter) {
+        fieldTargeters.computeIfAbsent(field, key -> new ArrayList<>()).add(targeter);
+        for (Map.Entry<EntrancePath, PathCoverage> entry : coverage.entrySet()) {
+            if (entry.getValue().field == field) {
+                addToCoverage(entry.getKey(), entry.getValue(), targeter);
+            }
+        }
+    }
+
+    /**
+     * Removes a targeter from all fields.
+     *
+     * @param targeter The targeter to remove
+     */
+    void removeTargeter(EntityRef targeter) {
+        boolean removed = false;
+        for (List<EntityRef> targeters : fieldTargeters.values()) {
+            removed |= targeters.remove(targeter);
+        }
+        if (removed) {
+            for (PathCoverage pathCoverage : coverage.values()) {
+                removeFromCoverage(pathCoverage, targeter);
+            }
+        }
+    }
+
+    /**
+     * Recalculates the steps covered by a single targeter, for example after it's range was upgraded.
+     *
+     * @param field    The field the targeter is in
+     * @param targeter The targeter to update
+     */
+    void updateTargeter(DefenceField field, EntityRef targeter) {
+        removeTargeter(targeter);
+        addTargeter(field, targeter);
+    }
+
+    /**
+     * Removes all the targeters.
+     */
+    void clear() {
+        fieldTargeters.clear();
+        invalidate();
+    }
+
+    /**
+     * Throws away the coverage of every path.
+     */
+    void invalidate() {
+        coverage.clear();
+    }
+
+    /**
+     * Throws away the coverage of any paths in a field that have been replaced.
+     *
+     * @param field        The field the paths are in
+     * @param currentPaths The paths currently in use in the field
+     */
+    void removeOldPaths(DefenceField field, Collection<EntrancePath> currentPaths) {
+        coverage.entrySet().removeIf(entry -> entry.getValue().field == field
+                && !currentPaths.contains(entry.getKey()));
+    }
+
+    /**
+     * @return The targeters in each field
+     */
+    Map<DefenceField, List<EntityRef>> getFieldTargeters() {
+        return fieldTargeters;
+    }
+
+    /**
+     * Starts a new update, so that every step can be visited again.
+     */
+    void beginUpdate() {
+        stamp++;
+    }
+
+    /**
+     * Adds the targeters covering a step of a path.
+     * Does nothing if the step has already been visited this update.
+     *
+     * @param field  The field the path is in
+     * @param path   The path the step is on
+     * @param step   The step along the path
+     * @param result The collection to add the targeters to
+     */
+    void addCovering(DefenceField field, EntrancePath path, int step, Collection<EntityRef> result) {
+        PathCoverage pathCoverage = coverage.get(path);
+        if (pathCoverage == null) {
+            pathCoverage = new PathCoverage(field, path.getWaypointCount());
+            for (EntityRef targeter : fieldTargeters.getOrDefault(field, Collections.emptyList())) {
+                addToCoverage(path, pathCoverage, targeter);
+            }
+            coverage.put(path, pathCoverage);
+        }
+        if (step < 0 || step >= pathCoverage.covering.length) {
+            return;
+        }
+        if (pathCoverage.stamps[step] != stamp) {
+            pathCoverage.stamps[step] = stamp;
+            Collections.addAll(result, pathCoverage.covering[step]);
+        }
+    }
+
+    /**
+     * Adds a targeter to each step of a path that it covers.
+     *
+     * @param path         The path the coverage is of
+     * @param pathCoverage The coverage to add to
+     * @param targeter     The targeter to add
+     */
+    private static void addToCoverage(EntrancePath path, PathCoverage pathCoverage, EntityRef targeter) {
+        LocationComponent location = targeter.getComponent(LocationComponent.class);
+        if (location == null || !DefenceField.hasComponentExtending(targeter, TowerTargeter.class)) {
+            return;
+        }
+        Vector3f position = location.getWorldPosition();
+        float range = DefenceField.getComponentExtending(targeter, TowerTargeter.class).range + RANGE_MARGIN;
+        float rangeSquared = range * range;
+        Vector3f start = new Vector3f();
+        Vector3f end = new Vector3f();
+        EntityRef[][] covering = pathCoverage.covering;
+        for (int step = 0; step < covering.length; step++) {
+            path.getWaypoint(step + 1, start);
+            path.getWaypoint(step, end);
+            if (distanceSquared(position, start, end) <= rangeSquared) {
+                EntityRef[] targeters = Arrays.copyOf(covering[step], covering[step].length + 1);
+                targeters[targeters.length - 1] = targeter;
+                covering[step] = targeters;
+            }
+        }
+    }
+
+    /**
+     * Removes a targeter from every step of a path it covers.
+     *
+     * @param pathCoverage The coverage to remove from
+     * @param targeter     The targeter to remove
+     */
+    private static void removeFromCoverage(PathCoverage pathCoverage, EntityRef targeter) {
+        EntityRef[][] covering = pathCoverage.covering;
+        for (int step = 0; step < covering.length; step++) {
+            EntityRef[] targeters = covering[step];
+            for (int i = 0; i < targeters.length; i++) {
+                if (targeters[i].equals(targeter)) {
+                    if (targeters.length == 1) {
+                        covering[step] = NO_TARGETERS;
+                    } else {
+                        EntityRef[] remaining = new EntityRef[targeters.length - 1];
+                        System.arraycopy(targeters, 0, remaining, 0, i);
+                        System.arraycopy(targeters, i + 1, remaining, i, targeters.length - i - 1);
+                        covering[step] = remaining;
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Calculates the squared distance from a point to the closest point on a line segment.
+     *
+     * @param point The point to measure from
+     * @param start The start of the line
+     * @param end   The end of the line
+     * @return The squared distance between them
+     */
+    private static float distanceSquared(Vector3f point, Vector3f start, Vector3f end) {
+        float dx = end.x - start.x;
+        float dy = end.y - start.y;
+        float dz = end.z - start.z;
+        float lengthSquared = dx * dx + dy * dy + dz * dz;
+        float t = 0;
+        if (lengthSquared > 0) {
+            t = ((point.x - start.x) * dx + (point.y - start.y) * dy + (point.z - start.z) * dz) / lengthSquared;
+            t = Math.max(0, Math.min(1, t));
+        }
+        float x = start.x + dx * t - point.x;
+        float y = start.y + dy * t - point.y;
+        float z = start.z + dz * t - point.z;
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * The targeters covering the steps of a single path.
+     */
+    private static final class PathCoverage {
+        private final DefenceField field;
+        /**
+         * The targeters covering each step.
+         * The array for a step is replaced, rather than changed, when a targeter is added or removed.
+         */
+        private final EntityRef[][] covering;
+        /**
+         * The last stamp each step was visited in.
+         * Used so that the targeters covering a step are only added once per update.
+         */
+        private final int[] stamps;
+
+        /**
+         * @param field     The field the path is in
+         * @param stepCount The number of steps along the path
+         */
+        private PathCoverage(DefenceField field, int stepCount) {
+            this.field = field;
+            this.covering = new EntityRef[stepCount][];
+            this.stamps = new int[stepCount];
+            Arrays.fill(covering, NO_TARGETERS);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.DefenceUris;
 import org.terasology.gooeyDefence.events.OnFieldActivated;
 import org.terasology.gooeyDefence.towers.components.TowerComponent;
@@ -53,25 +54,47 @@ public class TowerBuildSystem extends BaseComponentSystem {
     private BlockEntityRegistry blockEntityRegistry;
     @In
     private EntityManager entityManager;
+    @In
+    private DefenceFieldManager fieldManager;
 
 
     /**
      * Called when the field is activated, either from a new game, loaded save or reset.
+     * Rebuilds all the towers within that field.
      *
      * @see OnFieldActivated
      */
     @ReceiveEvent
     public void onFieldActivated(OnFieldActivated event, EntityRef savedDataEntity) {
-        Iterable<EntityRef> towerEntities = entityManager.getEntitiesWith(TowerComponent.class);
-        towerEntities.forEach(EntityRef::destroy);
+        DefenceField field = event.getField();
+        for (EntityRef towerEntity : entityManager.getEntitiesWith(TowerComponent.class)) {
+            Set<EntityRef> blocks = towerEntity.getComponent(TowerComponent.class).plains;
+            if (blocks.isEmpty() || blocks.stream().anyMatch(block -> isInField(block, field))) {
+                towerEntity.destroy();
+            }
+        }
 
-        Iterable<EntityRef> blockEntities = entityManager.getEntitiesWith(TowerMultiBlockComponent.class);
+        Set<EntityRef> blockEntities = new HashSet<>();
+        for (EntityRef blockEntity : entityManager.getEntitiesWith(TowerMultiBlockComponent.class)) {
+            if (isInField(blockEntity, field)) {
+                blockEntities.add(blockEntity);
+            }
+        }
         /* Clear entities */
         blockEntities.forEach(entity -> entity.getComponent(TowerMultiBlockComponent.class).setTowerEntity(EntityRef.NULL));
         /* Rebuild towers */
         blockEntities.forEach(this::handleTowerBlock);
     }
 
+    /**
+     * @param blockEntity The block to check
+     * @param field       The field to check against
+     * @return True if the block has a location inside the field
+     */
+    private boolean isInField(EntityRef blockEntity, DefenceField field) {
+        return blockEntity.hasComponent(LocationComponent.class) && fieldManager.getFieldFor(blockEntity) == field;
+    }
+
     /**
      * On a block being placed.
      *
@@ -167,6 +190,7 @@ public class TowerBuildSystem extends BaseComponentSystem {
         destComponent.effector.addAll(component.effector);
         destComponent.targeter.addAll(component.targeter);
         destComponent.plains.addAll(component.plains);
+        destComponent.markBlocksChanged();
 
         /* Destroy the old tower entity */
         source.send(new TowerDestroyedEvent());
@@ -195,6 +219,7 @@ public class TowerBuildSystem extends BaseComponentSystem {
         }
 
         towerComponent.plains.add(blockEntity);
+        towerComponent.markBlocksChanged();
         return towerEntity;
     }
 
@@ -257,6 +282,7 @@ public class TowerBuildSystem extends BaseComponentSystem {
         component.targeter.remove(block);
         component.effector.remove(block);
         component.plains.remove(block);
+        component.markBlocksChanged();
         block.getComponent(TowerMultiBlockComponent.class).setTowerEntity(EntityRef.NULL);
     }
 
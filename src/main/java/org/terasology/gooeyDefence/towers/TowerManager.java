@@ -15,14 +15,27 @@
  */
 package org.terasology.gooeyDefence.towers;
 
-import com.google.common.collect.Sets;
-import org.terasology.entitySystem.entity.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
+import org.terasology.gooeyDefence.EnemyManager;
+import org.terasology.gooeyDefence.events.OnEntrancePathCalculated;
 import org.terasology.gooeyDefence.events.OnFieldReset;
+import org.terasology.gooeyDefence.movement.EntrancePath;
+import org.terasology.gooeyDefence.movement.PathfindingManager;
+import org.terasology.gooeyDefence.movement.components.EntrancePathComponent;
+import org.terasology.gooeyDefence.profiling.ProfilingSystem;
+import org.terasology.gooeyDefence.profiling.SystemTimer;
+import org.terasology.gooeyDefence.profiling.TimerBatch;
+import org.terasology.gooeyDefence.simulation.DeferredWrites;
+import org.terasology.gooeyDefence.simulation.FieldSimulationSystem;
 import org.terasology.gooeyDefence.towers.components.TowerComponent;
 import org.terasology.gooeyDefence.towers.components.TowerCore;
 import org.terasology.gooeyDefence.towers.components.TowerEffector;
@@ -30,26 +43,140 @@ import org.terasology.gooeyDefence.towers.components.TowerTargeter;
 import org.terasology.gooeyDefence.towers.events.ApplyEffectEvent;
 import org.terasology.gooeyDefence.towers.events.OnBlocksAdded;
 import org.terasology.gooeyDefence.towers.events.RemoveEffectEvent;
-import org.terasology.gooeyDefence.towers.events.SelectEnemiesEvent;
 import org.terasology.gooeyDefence.towers.events.TowerCreatedEvent;
 import org.terasology.gooeyDefence.towers.events.TowerDestroyedEvent;
-import org.terasology.logic.delay.DelayManager;
-import org.terasology.logic.delay.PeriodicActionTriggeredEvent;
+import org.terasology.gooeyDefence.towers.targeters.EnemySnapshot;
+import org.terasology.gooeyDefence.towers.targeters.TargetSelector;
+import org.terasology.gooeyDefence.upgrading.UpgradingSystem;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.registry.In;
+import org.terasology.registry.Share;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Handles the attacks of every tower.
+ * Towers are tracked by the field they were built in, and only attack whilst that field is active.
+ * <p>
+ * Targeters are dormant whilst no enemy is on a part of a path within their range, and are not checked at all.
+ * Each update the enemies are used to wake the targeters covering the steps they are on.
+ * Targeters still affecting enemies are kept awake so that they can end their effects.
+ * <p>
+ * Each update, the targeters that are due to fire are collected by field, and a snapshot of the enemies in
+ * each field is taken on the game thread. The targets of all of them are then selected as a phase of the
+ * {@link FieldSimulationSystem}. Within a field, large numbers of targeters are split into fork-join tasks
+ * sharing the field's snapshot. The effects are applied on the game thread once every field has been resolved.
+ *
+ * @see TowerComponent
+ * @see TargetSelector
+ */
 @RegisterSystem
-public class TowerManager extends BaseComponentSystem {
-    private static final String EVENT_ID = "towerAttack";
+@Share(TowerManager.class)
+public class TowerManager extends BaseComponentSystem implements UpdateSubscriberSystem {
+    private static final Logger logger = LoggerFactory.getLogger(TowerManager.class);
+    /**
+     * The most targeters to select targets for in a single task before splitting it.
+     */
+    private static final int TARGETERS_PER_TASK = 32;
+    /**
+     * The field each tower is built in
+     */
+    private final Map<EntityRef, DefenceField> towerEntities = new HashMap<>();
+    /**
+     * The shot state of each targeter, including the tower it is a part of
+     */
+    private final Map<EntityRef, TargeterShot> targeterShots = new HashMap<>();
+    /**
+     * The selector for each type of targeter component.
+     * Used as a dispatch table when firing, so that no events need to be sent to select the targets.
+     */
+    private final Map<Class<? extends TowerTargeter>, TargetSelector<?>> targetSelectors = new HashMap<>();
+    /**
+     * The targeters due to fire in each field this update.
+     * Reused each update to avoid rebuilding the lists.
+     */
+    private final Map<DefenceField, TargetingWork> dueTargeters = new LinkedHashMap<>();
+    /**
+     * The timers for each targeter and effector system, by the component they handle.
+     * Accessed whilst targeting, and so may be used from multiple threads.
+     */
+    private final Map<Class<?>, SystemTimer> componentTimers = new ConcurrentHashMap<>();
+    /**
+     * The targeters covering each step of each path
+     */
+    private final TargeterCoverage coverage = new TargeterCoverage();
+    /**
+     * The targeters that are awake this update.
+     * Reused each update.
+     */
+    private final Set<EntityRef> awakeTargeters = new HashSet<>();
+    /**
+     * The targeters that affected enemies with their last shot, and so must keep firing until they stop.
+     */
+    private final Set<EntityRef> lingeringTargeters = new HashSet<>();
+    /**
+     * The upgrade version the ranges of the targeters were last checked at
+     *
+     * @see UpgradingSystem#getComponentVersion()
+     */
+    private int coverageVersion;
+    /**
+     * The targets of the current shot that were not affected by the last shot.
+     * Only used on the game thread, and reused between shots.
+     */
+    private final List<EntityRef> newTargets = new ArrayList<>();
+    /**
+     * The enemies affected by the last shot that are no longer targeted.
+     * Only used on the game thread, and reused between shots.
+     */
+    private final List<EntityRef> exTargets = new ArrayList<>();
+    /**
+     * The number of shot and membership buffers reused this update.
+     * Only counted on the game thread, and added to the shooting timer once per update.
+     */
+    private int buffersReused;
+    /**
+     * Sorts the changes to a targeter's affected enemies into the new and ex targets.
+     */
+    private final TargetMembership.Listener collectTargetChanges = new TargetMembership.Listener() {
+        @Override
+        public void onTargeted(EntityRef enemy, boolean isNew) {
+            if (isNew) {
+                newTargets.add(enemy);
+            }
+        }
 
-    private final Set<EntityRef> towerEntities = new HashSet<>();
+        @Override
+        public void onUntargeted(EntityRef enemy) {
+            exTargets.add(enemy);
+        }
+    };
+    @In
+    private Time time;
+    @In
+    private EnemyManager enemyManager;
+    @In
+    private ProfilingSystem profilingSystem;
+    @In
+    private DefenceFieldManager fieldManager;
     @In
-    private DelayManager delayManager;
+    private FieldSimulationSystem fieldSimulationSystem;
     @In
-    private EntityManager entityManager;
+    private PathfindingManager pathfindingManager;
+    @In
+    private UpgradingSystem upgradingSystem;
+    private SystemTimer shootingTimer;
 
     /**
      * Get the drain caused by all the targeters on a tower
@@ -100,22 +227,140 @@ public class TowerManager extends BaseComponentSystem {
         return getTotalCorePower(towerComponent) >= getTargeterDrain(towerComponent) + getEffectorDrain(towerComponent);
     }
 
+    @Override
+    public void initialise() {
+        shootingTimer = profilingSystem.getTimer("TowerManager.handleTowerShooting");
+    }
+
     /**
-     * Remove all scheduled delays before the game is shutdown.
+     * Remove all scheduled shots before the game is shutdown.
      */
     @Override
     public void shutdown() {
-        for (EntityRef tower : towerEntities) {
-            TowerComponent towerComponent = tower.getComponent(TowerComponent.class);
-            for (EntityRef targeter : towerComponent.targeter) {
-                delayManager.cancelPeriodicAction(tower, buildEventId(targeter));
-            }
+        targeterShots.clear();
+        coverage.clear();
+        lingeringTargeters.clear();
+        for (EntityRef tower : towerEntities.keySet()) {
             tower.destroy();
         }
     }
 
     /**
-     * Destroys all the tower blocks
+     * Registers the selector used to pick the targets of a type of targeter.
+     * Every type of targeter needs a selector to be able to fire.
+     *
+     * @param targeterType The targeter component the selector handles
+     * @param selector     The selector to use
+     * @param <T>          The type of the targeter component
+     */
+    public <T extends TowerTargeter> void registerTargetSelector(Class<T> targeterType, TargetSelector<T> selector) {
+        targetSelectors.put(targeterType, selector);
+    }
+
+    /**
+     * Fires all of the targeters that are due to fire.
+     */
+    @Override
+    public void update(float delta) {
+        long now = time.getGameTimeInMs();
+        dueTargeters.values().forEach(work -> work.targeters.clear());
+        wakeTargeters();
+        for (EntityRef targeter : awakeTargeters) {
+            TargeterShot shot = targeterShots.get(targeter);
+            if (shot == null || shot.nextShot > now) {
+                continue;
+            }
+            TowerTargeter targeterComponent = DefenceField.getComponentExtending(targeter, TowerTargeter.class);
+            shot.nextShot = Math.max(shot.nextShot + targeterComponent.attackSpeed, now);
+
+            EntityRef tower = shot.tower;
+            DefenceField field = towerEntities.get(tower);
+            if (field != null && field.isActivated() && hasEnoughPower(tower.getComponent(TowerComponent.class))) {
+                dueTargeters.computeIfAbsent(field, key -> new TargetingWork()).targeters.add(targeter);
+            }
+        }
+        for (Map.Entry<DefenceField, TargetingWork> entry : dueTargeters.entrySet()) {
+            TargetingWork work = entry.getValue();
+            work.enemies = work.targeters.isEmpty()
+                    ? null
+                    : new EnemySnapshot(enemyManager.getEnemies(entry.getKey()));
+        }
+        fieldSimulationSystem.runPhase("targeting", dueTargeters, this::selectTargets);
+        if (buffersReused > 0) {
+            shootingTimer.addAllocationsAvoided(buffersReused);
+            buffersReused = 0;
+        }
+    }
+
+    /**
+     * Finds the targeters that could have an enemy in range this update.
+     * <p>
+     * Each enemy on an entrance path wakes the targeters covering it's step along the path.
+     * An enemy not on a known path could be anywhere, so it wakes every targeter in it's field.
+     * This includes enemies moved onto a new path, until they reach a waypoint on it.
+     */
+    private void wakeTargeters() {
+        if (coverageVersion != upgradingSystem.getComponentVersion()) {
+            /* An upgrade may have changed the range of a targeter */
+            coverageVersion = upgradingSystem.getComponentVersion();
+            updateChangedRanges();
+        }
+        coverage.beginUpdate();
+        awakeTargeters.clear();
+        awakeTargeters.addAll(lingeringTargeters);
+        for (Map.Entry<DefenceField, List<EntityRef>> entry : coverage.getFieldTargeters().entrySet()) {
+            DefenceField field = entry.getKey();
+            if (!field.isActivated() || entry.getValue().isEmpty()) {
+                continue;
+            }
+            for (EntityRef enemy : enemyManager.getEnemies(field)) {
+                EntrancePathComponent pathComponent = enemy.getComponent(EntrancePathComponent.class);
+                EntrancePath path = pathComponent == null
+                        ? null
+                        : pathfindingManager.getEntrancePath(pathComponent.getFieldId(), pathComponent.getEntranceId());
+                if (path == null
+                        || path.getVersion() != pathComponent.getPathVersion()
+                        || pathComponent.isOffPath()) {
+                    awakeTargeters.addAll(entry.getValue());
+                    break;
+                }
+                coverage.addCovering(field, path, pathComponent.getStep(), awakeTargeters);
+            }
+        }
+    }
+
+    /**
+     * Updates the coverage of any targeters whose range has changed since it was last calculated.
+     * Only those targeters are recalculated, the coverage of the others is kept.
+     */
+    private void updateChangedRanges() {
+        for (TargeterShot shot : targeterShots.values()) {
+            TowerTargeter targeterComponent = DefenceField.getComponentExtending(shot.targeter, TowerTargeter.class);
+            if (targeterComponent.range != shot.coveredRange) {
+                shot.coveredRange = targeterComponent.range;
+                DefenceField field = towerEntities.get(shot.tower);
+                if (field != null) {
+                    coverage.updateTargeter(field, shot.targeter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Throws away the coverage of the paths replaced by a newly calculated path.
+     * <p>
+     * Sent against the shrine entity
+     *
+     * @see OnEntrancePathCalculated
+     */
+    @ReceiveEvent
+    public void onEntrancePathCalculated(OnEntrancePathCalculated event, EntityRef entity) {
+        DefenceField field = event.getField();
+        coverage.removeOldPaths(field, pathfindingManager.getPaths(field));
+    }
+
+    /**
+     * Destroys all the tower blocks in the field being reset
      * <p>
      * Sent when the field should be reset
      *
@@ -123,15 +368,36 @@ public class TowerManager extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onFieldReset(OnFieldReset event, EntityRef entity) {
-        for (EntityRef towerEntity : towerEntities) {
-            TowerComponent component = towerEntity.getComponent(TowerComponent.class);
-            clearBlocks(component.cores);
-            clearBlocks(component.effector);
-            clearBlocks(component.targeter);
-            clearBlocks(component.plains);
-            towerEntity.destroy();
+        Iterator<Map.Entry<EntityRef, DefenceField>> iterator = towerEntities.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<EntityRef, DefenceField> entry = iterator.next();
+            if (entry.getValue() == event.getField()) {
+                EntityRef towerEntity = entry.getKey();
+                TowerComponent component = towerEntity.getComponent(TowerComponent.class);
+                component.targeter.forEach(this::unscheduleTargeter);
+                clearBlocks(component.cores);
+                clearBlocks(component.effector);
+                clearBlocks(component.targeter);
+                clearBlocks(component.plains);
+                towerEntity.destroy();
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Gets the field a tower is built in, based on the location of it's blocks.
+     *
+     * @param towerComponent The tower to check
+     * @return The field the tower is in
+     */
+    private DefenceField getTowerField(TowerComponent towerComponent) {
+        for (EntityRef block : towerComponent.plains) {
+            if (block.hasComponent(LocationComponent.class)) {
+                return fieldManager.getFieldFor(block);
+            }
         }
-        towerEntities.clear();
+        return fieldManager.getField(0);
     }
 
     /**
@@ -155,19 +421,15 @@ public class TowerManager extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onTowerCreated(TowerCreatedEvent event, EntityRef towerEntity, TowerComponent towerComponent) {
-        towerEntities.add(towerEntity);
+        towerEntities.put(towerEntity, getTowerField(towerComponent));
         for (EntityRef targeter : towerComponent.targeter) {
-            TowerTargeter targeterComponent = DefenceField.getComponentExtending(targeter, TowerTargeter.class);
-            delayManager.addPeriodicAction(towerEntity,
-                    buildEventId(targeter),
-                    targeterComponent.attackSpeed,
-                    targeterComponent.attackSpeed);
+            scheduleTargeter(towerEntity, targeter);
         }
     }
 
     /**
      * Called when a block is added to a tower.
-     * Cancels the old periodic actions and schedules new ones.
+     * Schedules the attacks of any new targeters.
      * <p>
      * Filters on {@link TowerComponent}
      *
@@ -177,18 +439,14 @@ public class TowerManager extends BaseComponentSystem {
     public void onTowerChanged(OnBlocksAdded event, EntityRef towerEntity, TowerComponent towerComponent) {
         for (EntityRef targeter : towerComponent.targeter) {
             if (event.getAddedBlock().contains(targeter)) {
-                TowerTargeter targeterComponent = DefenceField.getComponentExtending(targeter, TowerTargeter.class);
-                delayManager.addPeriodicAction(towerEntity,
-                        buildEventId(targeter),
-                        targeterComponent.attackSpeed,
-                        targeterComponent.attackSpeed);
+                scheduleTargeter(towerEntity, targeter);
             }
         }
     }
 
     /**
      * Called when a tower is destroyed.
-     * Removes all the periodic actions and the tower from the store.
+     * Removes all the scheduled attacks and the tower from the store.
      * <p>
      * Filters on {@link TowerComponent}
      */
@@ -201,23 +459,100 @@ public class TowerManager extends BaseComponentSystem {
     }
 
     /**
-     * Called every attack cycle per targeter.
-     * Checks if the tower can fire, and if so, fires that targeter.
+     * Schedules a targeter to fire once it's attack speed has passed.
+     *
+     * @param tower    The tower the targeter is part of
+     * @param targeter The targeter to schedule
+     */
+    private void scheduleTargeter(EntityRef tower, EntityRef targeter) {
+        TowerTargeter targeterComponent = DefenceField.getComponentExtending(targeter, TowerTargeter.class);
+        TargetSelector<TowerTargeter> selector = getTargetSelector(targeterComponent);
+        if (selector == null) {
+            logger.error("No target selector registered for " + targeterComponent.getClass().getSimpleName()
+                    + ", so the targeter will not fire");
+            return;
+        }
+        TargeterShot shot = new TargeterShot(targeter, tower, selector);
+        shot.nextShot = time.getGameTimeInMs() + targeterComponent.attackSpeed;
+        shot.coveredRange = targeterComponent.range;
+        if (targeterShots.put(targeter, shot) != null) {
+            coverage.removeTargeter(targeter);
+        }
+        DefenceField field = towerEntities.get(tower);
+        if (field != null) {
+            coverage.addTargeter(field, targeter);
+        }
+    }
+
+    /**
+     * Stops a targeter from firing.
+     *
+     * @param targeter The targeter to stop
+     */
+    private void unscheduleTargeter(EntityRef targeter) {
+        targeterShots.remove(targeter);
+        lingeringTargeters.remove(targeter);
+        coverage.removeTargeter(targeter);
+    }
+
+    /**
+     * Selects the targets of all the due targeters in a field.
+     * This may be called from any thread, and so only reads from the entities.
+     * The effects of each targeter are added to the writes to be applied afterwards, in the order they were due.
      * <p>
-     * Filters on {@link TowerComponent}
+     * The targeters are split into fork-join tasks that all share the snapshot of the field's enemies.
      *
-     * @see PeriodicActionTriggeredEvent
+     * @param field  The field the targeters are in
+     * @param work   The due targeters and the enemies in the field
+     * @param writes The buffer to add the shots to
+     * @see TargetingTask
      */
-    @ReceiveEvent
-    public void onPeriodicActionTriggered(PeriodicActionTriggeredEvent event, EntityRef entity, TowerComponent component) {
-        if (DefenceField.fieldActivated && isEventIdCorrect(event.getActionId())) {
-            if (hasEnoughPower(component)) {
-                EntityRef targeter = getTargeterId(event.getActionId());
-                handleTowerShooting(component, targeter);
-            }
+    private void selectTargets(DefenceField field, TargetingWork work, DeferredWrites writes) {
+        if (work.targeters.isEmpty()) {
+            return;
+        }
+        new TargetingTask(work.targeters, 0, work.targeters.size(), work.enemies).invoke();
+        for (EntityRef targeter : work.targeters) {
+            writes.add(targeterShots.get(targeter));
         }
     }
 
+    /**
+     * Selects the targets of a single targeter into it's shot.
+     * <p>
+     * Each targeter selects into it's own reused buffer, so nothing is allocated per shot.
+     * A targeter only belongs to one task, so the buffer is never shared between threads.
+     *
+     * @param targeter The targeter to select the targets of
+     * @param enemies  The snapshot of the enemies in the targeter's field
+     * @param timings  The batch to record the time taken in
+     */
+    private void selectTargets(EntityRef targeter, EnemySnapshot enemies, TimerBatch timings) {
+        TargeterShot shot = targeterShots.get(targeter);
+        TowerTargeter targeterComponent = DefenceField.getComponentExtending(targeter, TowerTargeter.class);
+        TargetSelector<TowerTargeter> selector = shot.selector;
+        if (shot.position == null) {
+            /* Targeter blocks never move, so the position only needs to be read once */
+            shot.position = targeter.getComponent(LocationComponent.class).getWorldPosition();
+        }
+
+        SystemTimer timer = getComponentTimer(targeterComponent, "selectTargets");
+        long start = timer.start();
+        shot.targets.clear();
+        shot.targeterComponent = targeterComponent;
+        shot.target = selector.selectTargets(shot.position, targeterComponent, enemies, shot.targets);
+        timings.record(timer, start, enemies.size());
+    }
+
+    /**
+     * @param targeterComponent The targeter component to get the selector for
+     * @return The selector for that type of targeter, or null if none is registered
+     */
+    @SuppressWarnings("unchecked")
+    private TargetSelector<TowerTargeter> getTargetSelector(TowerTargeter targeterComponent) {
+        return (TargetSelector<TowerTargeter>) targetSelectors.get(targeterComponent.getClass());
+    }
+
     /**
      * Handles the removal of a targeter from a tower.
      * Does this by calling the tower to end the effects on the enemies where appropriate.
@@ -227,88 +562,104 @@ public class TowerManager extends BaseComponentSystem {
      */
     private void handleTargeterRemoval(EntityRef tower, EntityRef targeter) {
 
-        delayManager.cancelPeriodicAction(tower, buildEventId(targeter));
+        unscheduleTargeter(targeter);
 
         TowerComponent towerComponent = tower.getComponent(TowerComponent.class);
         TowerTargeter targeterComponent = DefenceField.getComponentExtending(targeter, TowerTargeter.class);
-        for (EntityRef enemy : targeterComponent.affectedEnemies) {
-            endEffects(towerComponent.effector, enemy, targeterComponent.getMultiplier());
-        }
+        exTargets.clear();
+        targeterComponent.getAffectedEnemies().clear(collectTargetChanges);
+        endEffects(towerComponent.effector, exTargets, targeterComponent.getMultiplier());
+        exTargets.clear();
     }
 
     /**
-     * Handles the steps involved in making a targeter shoot.
+     * Handles the steps involved in making a targeter shoot, once it's targets have been selected.
+     * Enemies that were destroyed by earlier shots this update are skipped.
      *
-     * @param towerComponent The TowerComponent of the tower entity shooting.
-     * @param targeter       The targeter that's shooting
+     * @param shot The selected targets of the targeter that's shooting
      */
-    private void handleTowerShooting(TowerComponent towerComponent, EntityRef targeter) {
-        Set<EntityRef> currentTargets = getTargetedEnemies(targeter);
-        TowerTargeter towerTargeter = DefenceField.getComponentExtending(targeter, TowerTargeter.class);
-
-        applyEffectsToTargets(towerComponent.effector, currentTargets, towerTargeter);
-
-        towerTargeter.affectedEnemies = currentTargets;
+    private void handleTowerShooting(TargeterShot shot) {
+        if (!shot.tower.exists()) {
+            return;
+        }
+        long start = shootingTimer.start();
+        Set<EntityRef> currentTargets = shot.targets;
+        currentTargets.removeIf(enemy -> !enemy.exists());
+        EntityRef target = shot.target.exists() ? shot.target : EntityRef.NULL;
+        shot.selector.onTargetsSelected(shot.position, shot.targeterComponent, target, currentTargets);
+
+        applyEffectsToTargets(shot.tower.getComponent(TowerComponent.class).effector, currentTargets, shot.targeterComponent);
+        /* The shot and it's target set are reused rather than created for each shot */
+        buffersReused++;
+        shot.target = EntityRef.NULL;
+        if (shot.targeterComponent.getAffectedEnemies().size() > 0) {
+            lingeringTargeters.add(shot.targeter);
+        } else {
+            lingeringTargeters.remove(shot.targeter);
+        }
+        shootingTimer.stop(start);
     }
 
     /**
-     * Calls on the targeter to obtain the enemies it's targeting.
+     * Gets the timer for the system handling a targeter or effector component.
      *
-     * @param targeter The targeter to call on
-     * @return All entities targeted by that targeter.
-     * @see TowerTargeter
+     * @param component The component the system handles
+     * @param method    The name of the event handler being timed
+     * @return The timer for that system
      */
-    private Set<EntityRef> getTargetedEnemies(EntityRef targeter) {
-        SelectEnemiesEvent shootEvent = new SelectEnemiesEvent();
-        targeter.send(shootEvent);
-        return shootEvent.getTargets();
+    private SystemTimer getComponentTimer(Object component, String method) {
+        return componentTimers.computeIfAbsent(component.getClass(), type ->
+                profilingSystem.getTimer(type.getSimpleName().replace("Component", "System") + "." + method));
     }
 
     /**
-     * Applies all the effects on a tower to the targeted enemies
+     * Applies all the effects on a tower to the targeted enemies,
+     * and ends the effects on enemies that are no longer targeted.
+     * <p>
+     * The targets are then stored as the enemies affected by the targeter.
      *
      * @param effectors      The effectors on the tower
      * @param currentTargets The current targets of the tower
      * @param towerTargeter  The targeter shooting
      * @see TowerEffector
+     * @see TargetMembership
      */
     private void applyEffectsToTargets(Set<EntityRef> effectors, Set<EntityRef> currentTargets, TowerTargeter towerTargeter) {
-        Set<EntityRef> exTargets = Sets.difference(towerTargeter.affectedEnemies, currentTargets);
+        newTargets.clear();
+        exTargets.clear();
+        if (towerTargeter.getAffectedEnemies().update(currentTargets, collectTargetChanges)) {
+            buffersReused++;
+        }
 
-        /* Apply effects to targeted enemies */
-        currentTargets.forEach(target -> applyEffects(effectors,
-                target,
-                towerTargeter.getMultiplier(),
-                !towerTargeter.affectedEnemies.contains(target)));
+        applyEffects(effectors, currentTargets, newTargets, towerTargeter.getMultiplier());
+        endEffects(effectors, exTargets, towerTargeter.getMultiplier());
 
-        /* Process all the enemies that are no longer targeted */
-        for (EntityRef exTarget : exTargets) {
-            endEffects(effectors, exTarget, towerTargeter.getMultiplier());
-        }
+        newTargets.clear();
+        exTargets.clear();
     }
 
     /**
-     * Applies all the effects on a tower to an enemy.
+     * Applies all the effects on a tower to the targeted enemies.
+     * Each effector is sent a single event holding all of the targets it applies to.
      *
-     * @param effectors   The effectors to use to apply the effects
-     * @param target      The target enemy
-     * @param multiplier  The multiplier from the targeter
-     * @param isTargetNew Indicates if the enemy is newly targeted. Used to filter effectors
+     * @param effectors  The effectors to use to apply the effects
+     * @param targets    All the targeted enemies
+     * @param newTargets The targeted enemies that are newly targeted. Used to filter effectors
+     * @param multiplier The multiplier from the targeter
      * @see EffectCount
      */
-    private void applyEffects(Set<EntityRef> effectors, EntityRef target, float multiplier, boolean isTargetNew) {
-        ApplyEffectEvent event = new ApplyEffectEvent(target, multiplier);
+    private void applyEffects(Set<EntityRef> effectors, Collection<EntityRef> targets, Collection<EntityRef> newTargets, float multiplier) {
+        ApplyEffectEvent allEvent = new ApplyEffectEvent(targets, multiplier);
+        ApplyEffectEvent newEvent = new ApplyEffectEvent(newTargets, multiplier);
 
         for (EntityRef effector : effectors) {
             TowerEffector effectorComponent = DefenceField.getComponentExtending(effector, TowerEffector.class);
             switch (effectorComponent.getEffectCount()) {
                 case CONTINUOUS:
-                    if (isTargetNew) {
-                        effector.send(event);
-                    }
+                    sendTimed(effector, effectorComponent, newEvent, newTargets.size());
                     break;
                 case PER_SHOT:
-                    effector.send(event);
+                    sendTimed(effector, effectorComponent, allEvent, targets.size());
                     break;
                 default:
                     throw new EnumConstantNotPresentException(EffectCount.class, effectorComponent.getEffectCount().toString());
@@ -317,15 +668,39 @@ public class TowerManager extends BaseComponentSystem {
     }
 
     /**
-     * Calls on each effector to end the effect on a target, where applicable.
+     * Sends an effect event to an effector, timing how long the effector takes to handle it.
+     * Nothing is sent if the event has no targets.
+     *
+     * @param effector          The effector entity to send to
+     * @param effectorComponent The effector component on that entity
+     * @param event             The event to send
+     * @param targetCount       The number of targets in the event
+     */
+    private void sendTimed(EntityRef effector, TowerEffector effectorComponent, ApplyEffectEvent event, int targetCount) {
+        if (targetCount == 0) {
+            return;
+        }
+        SystemTimer timer = getComponentTimer(effectorComponent, "onApplyEffect");
+        long start = timer.start();
+        effector.send(event);
+        timer.addScanned(targetCount);
+        timer.stop(start);
+    }
+
+    /**
+     * Calls on each effector to end the effect on the old targets, where applicable.
+     * Each effector is sent a single event holding all of the old targets.
      *
      * @param effectors  The effectors to check through
-     * @param oldTarget  The target to remove the effects from
+     * @param oldTargets The targets to remove the effects from
      * @param multiplier The effect multiplier to apply to the event
      * @see EffectDuration
      */
-    private void endEffects(Set<EntityRef> effectors, EntityRef oldTarget, float multiplier) {
-        RemoveEffectEvent event = new RemoveEffectEvent(oldTarget, multiplier);
+    private void endEffects(Set<EntityRef> effectors, Collection<EntityRef> oldTargets, float multiplier) {
+        if (oldTargets.isEmpty()) {
+            return;
+        }
+        RemoveEffectEvent event = new RemoveEffectEvent(oldTargets, multiplier);
         for (EntityRef effector : effectors) {
             TowerEffector effectorComponent = DefenceField.getComponentExtending(effector, TowerEffector.class);
             switch (effectorComponent.getEffectDuration()) {
@@ -342,36 +717,86 @@ public class TowerManager extends BaseComponentSystem {
     }
 
     /**
-     * Checks that the periodic event is intended for the given tower.
-     *
-     * @param eventId The id of the periodic event
-     * @return True if the event belongs to the tower
-     * @see PeriodicActionTriggeredEvent
+     * The state of a single targeter's shot.
+     * <p>
+     * Reused for every shot the targeter makes. The targets are selected into it whilst targeting,
+     * and it is then added to the deferred writes to apply the shot on the game thread.
      */
-    private boolean isEventIdCorrect(String eventId) {
-        return eventId.startsWith(EVENT_ID);
+    private final class TargeterShot implements Runnable {
+        private final EntityRef targeter;
+        private final EntityRef tower;
+        private final TargetSelector<TowerTargeter> selector;
+        private final Set<EntityRef> targets = new HashSet<>();
+        /**
+         * The game time the targeter will next fire at, in ms
+         */
+        private long nextShot;
+        /**
+         * The range the targeter's coverage was calculated with
+         */
+        private int coveredRange;
+        private Vector3f position;
+        private TowerTargeter targeterComponent;
+        private EntityRef target = EntityRef.NULL;
+
+        private TargeterShot(EntityRef targeter, EntityRef tower, TargetSelector<TowerTargeter> selector) {
+            this.targeter = targeter;
+            this.tower = tower;
+            this.selector = selector;
+        }
+
+        @Override
+        public void run() {
+            handleTowerShooting(this);
+        }
     }
 
     /**
-     * Gets the targeter entity from the periodic event id.
-     *
-     * @param eventId The id of the periodic event
-     * @return The targeter entity encoded in the event.
-     * @see PeriodicActionTriggeredEvent
+     * Selects the targets of a range of the due targeters in a field.
+     * <p>
+     * Ranges larger than {@link #TARGETERS_PER_TASK} are split in half and run as two subtasks.
+     * Each task records it's timings locally, and adds them to the timers once it has finished.
      */
-    private EntityRef getTargeterId(String eventId) {
-        String id = eventId.substring(eventId.indexOf('|') + 1);
-        return entityManager.getEntity(Long.parseLong(id));
+    private final class TargetingTask extends RecursiveAction {
+        private final List<EntityRef> targeters;
+        private final int from;
+        private final int to;
+        private final EnemySnapshot enemies;
+
+        /**
+         * @param targeters The due targeters in the field
+         * @param from      The index of the first targeter to handle, inclusive
+         * @param to        The index of the last targeter to handle, exclusive
+         * @param enemies   The snapshot of the enemies in the field
+         */
+        private TargetingTask(List<EntityRef> targeters, int from, int to, EnemySnapshot enemies) {
+            this.targeters = targeters;
+            this.from = from;
+            this.to = to;
+            this.enemies = enemies;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > TARGETERS_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new TargetingTask(targeters, from, middle, enemies),
+                        new TargetingTask(targeters, middle, to, enemies));
+                return;
+            }
+            TimerBatch timings = new TimerBatch();
+            for (int i = from; i < to; i++) {
+                selectTargets(targeters.get(i), enemies, timings);
+            }
+            timings.commit();
+        }
     }
 
     /**
-     * Creates the periodic event id for the targeter on a tower
-     *
-     * @param targeter The targeter the event is sending for
-     * @return The id for that periodic action event.
-     * @see PeriodicActionTriggeredEvent
+     * The targeters due to fire in a field, along with the snapshot of the enemies they can target.
      */
-    private String buildEventId(EntityRef targeter) {
-        return EVENT_ID + "|" + targeter.getId();
+    private static final class TargetingWork {
+        private final List<EntityRef> targeters = new ArrayList<>();
+        private EnemySnapshot enemies;
     }
 }
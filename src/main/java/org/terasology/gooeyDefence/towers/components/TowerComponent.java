@@ -36,4 +36,23 @@ public class TowerComponent implements Component {
     public Set<EntityRef> effector = new HashSet<>();
     public Set<EntityRef> targeter = new HashSet<>();
     public Set<EntityRef> plains = new HashSet<>();
+    /**
+     * Incremented whenever blocks are added to or removed from the tower.
+     * Not saved, as it is only used to tell when cached views of the tower are out of date.
+     */
+    private transient int blocksVersion;
+
+    /**
+     * @return A value that changes every time the blocks in the tower change
+     */
+    public int getBlocksVersion() {
+        return blocksVersion;
+    }
+
+    /**
+     * Notes that the blocks in the tower have been changed.
+     */
+    public void markBlocksChanged() {
+        blocksVersion++;
+    }
 }
@@ -16,10 +16,7 @@
 package org.terasology.gooeyDefence.towers.components;
 
 import org.terasology.entitySystem.Component;
-import org.terasology.entitySystem.entity.EntityRef;
-
-import java.util.HashSet;
-import java.util.Set;
+import org.terasology.gooeyDefence.towers.TargetMembership;
 
 /**
  * Base class for all the Targeter blocks.
@@ -48,9 +45,10 @@ public abstract class TowerTargeter implements Component {
      */
     public int attackSpeed;
     /**
-     * All enemies hit by an effect last attack
+     * All enemies hit by an effect last attack.
+     * Not saved, as the enemies are not kept when the game is reloaded.
      */
-    public Set<EntityRef> affectedEnemies = new HashSet<>();
+    private transient TargetMembership affectedEnemies = new TargetMembership();
 
     /**
      * A balancing multiplier passed to effectors on this tower.
@@ -60,4 +58,11 @@ public abstract class TowerTargeter implements Component {
      */
     public abstract float getMultiplier();
 
+    /**
+     * @return All enemies hit by an effect last attack
+     */
+    public TargetMembership getAffectedEnemies() {
+        return affectedEnemies;
+    }
+
 }
@@ -41,6 +41,11 @@ public class DamageEffectorSystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onApplyEffect(ApplyEffectEvent event, EntityRef entity, DamageEffectorComponent component) {
-        event.getTarget().send(new DamageEntityEvent(component.damage));
+        DamageEntityEvent damageEvent = new DamageEntityEvent(component.damage);
+        for (EntityRef target : event.getTargets()) {
+            if (target.exists()) {
+                target.send(damageEvent);
+            }
+        }
     }
 }
@@ -96,12 +96,16 @@ public class FireEffectorSystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onApplyEffect(ApplyEffectEvent event, EntityRef entity, FireEffectorComponent effectorComponent) {
-        burningEnemies.add(event.getTarget());
-        if (!delayManager.hasPeriodicAction(entity, APPLY_BURN_ID)) {
+        for (EntityRef target : event.getTargets()) {
+            if (target.exists()) {
+                burningEnemies.add(target);
+                inWorldRenderer.addParticleEffect(target, DefenceUris.FIRE_PARTICLES);
+                delayManager.addDelayedAction(target, END_BURN_ID, effectorComponent.fireDuration);
+            }
+        }
+        if (!burningEnemies.isEmpty() && !delayManager.hasPeriodicAction(entity, APPLY_BURN_ID)) {
             delayManager.addPeriodicAction(entity, APPLY_BURN_ID, BURN_RATE, BURN_RATE);
         }
-        inWorldRenderer.addParticleEffect(event.getTarget(), DefenceUris.FIRE_PARTICLES);
-        delayManager.addDelayedAction(event.getTarget(), END_BURN_ID, effectorComponent.fireDuration);
     }
 
     /**
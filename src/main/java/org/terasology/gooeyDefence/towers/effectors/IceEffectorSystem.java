@@ -29,6 +29,9 @@ import org.terasology.registry.In;
 
 /**
  * Slows the target enemy by the given amount.
+ * <p>
+ * Each ice effector adds its own speed modifier to the enemy, so overlapping slows combine exactly
+ * and the enemy's base speed is never changed.
  *
  * @see IceEffectorComponent
  * @see TowerManager
@@ -47,11 +50,13 @@ public class IceEffectorSystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onApplyEffect(ApplyEffectEvent event, EntityRef entity, IceEffectorComponent component) {
-        EntityRef enemy = event.getTarget();
-        MovementComponent movementComponent = enemy.getComponent(MovementComponent.class);
-        double reducedSpeed = movementComponent.speed * component.slow;
-        movementComponent.speed = (float) reducedSpeed;
-        inWorldRenderer.addParticleEffect(enemy, DefenceUris.ICE_PARTICLES);
+        for (EntityRef enemy : event.getTargets()) {
+            MovementComponent movementComponent = enemy.getComponent(MovementComponent.class);
+            if (movementComponent != null) {
+                movementComponent.addSpeedModifier(entity, component.slow);
+                inWorldRenderer.addParticleEffect(enemy, DefenceUris.ICE_PARTICLES);
+            }
+        }
     }
 
     /**
@@ -63,9 +68,12 @@ public class IceEffectorSystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onRemoveEffect(RemoveEffectEvent event, EntityRef entity, IceEffectorComponent component) {
-        EntityRef enemy = event.getTarget();
-        MovementComponent movementComponent = enemy.getComponent(MovementComponent.class);
-        movementComponent.speed = movementComponent.speed / component.slow;
-        inWorldRenderer.removeParticleEffect(enemy, DefenceUris.ICE_PARTICLES);
+        for (EntityRef enemy : event.getTargets()) {
+            MovementComponent movementComponent = enemy.getComponent(MovementComponent.class);
+            if (movementComponent != null) {
+                movementComponent.removeSpeedModifier(entity);
+                inWorldRenderer.removeParticleEffect(enemy, DefenceUris.ICE_PARTICLES);
+            }
+        }
     }
 }
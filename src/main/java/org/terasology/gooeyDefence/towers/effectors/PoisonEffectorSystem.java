@@ -15,54 +15,71 @@
  */
 package org.terasology.gooeyDefence.towers.effectors;
 
-import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
-import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.DefenceUris;
-import org.terasology.gooeyDefence.components.GooeyComponent;
 import org.terasology.gooeyDefence.health.events.DamageEntityEvent;
 import org.terasology.gooeyDefence.towers.TowerManager;
 import org.terasology.gooeyDefence.towers.events.ApplyEffectEvent;
 import org.terasology.gooeyDefence.visuals.InWorldRenderer;
-import org.terasology.logic.delay.DelayManager;
-import org.terasology.logic.delay.DelayedActionTriggeredEvent;
-import org.terasology.logic.delay.PeriodicActionTriggeredEvent;
+import org.terasology.gooeyDefence.visuals.components.ChildrenParticleComponent;
 import org.terasology.registry.In;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Deals an initial damage, then damage over time to a target.
  * <p>
  * Multiple poison effects cannot be stacked from the same effector,
  * however effects from different poison effectors can stack
+ * <p>
+ * Each poisoned enemy has a single entry holding the summed damage of all the poisons on it.
+ * All the entries are ticked together, so poisoning more enemies does not schedule any more work.
+ * <p>
+ * The entries are not saved, but the poison particles on an enemy are.
+ * Enemies loaded with poison particles but no entry have the particles removed.
  *
  * @see PoisonEffectorComponent
  * @see TowerManager
  */
 @RegisterSystem
-public class PoisonEffectorSystem extends BaseComponentSystem {
+public class PoisonEffectorSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
     /**
      * How often the damage over time will be dealt
      * given in milliseconds
      */
     private static final int POISON_RATE = 200;
+
     /**
-     * The id to use when registering the periodic event
+     * The poison currently on each enemy
      */
-    private static final String APPLY_POISON_ID = "applyPoisonDamage";
+    private final Map<EntityRef, PoisonEntry> poisonedEnemies = new HashMap<>();
     /**
-     * The id to use when registering the end periodic event
+     * Enemies that were loaded with poison particles they have no poison for.
+     * The particles are removed on the next update, rather than during the activation.
      */
-    private static final String END_POISON_ID = "endPoisonDamage";
+    private final List<EntityRef> staleParticles = new ArrayList<>();
+    /**
+     * The game time at which the next unit of poison damage is dealt
+     */
+    private long nextTick;
 
     @In
-    private DelayManager delayManager;
-    @In
-    private EntityManager entityManager;
+    private Time time;
     @In
     private InWorldRenderer inWorldRenderer;
+    @In
+    private DefenceFieldManager fieldManager;
 
     /**
      * Applies the effect to the target
@@ -74,96 +91,160 @@ public class PoisonEffectorSystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onApplyEffect(ApplyEffectEvent event, EntityRef entity, PoisonEffectorComponent effectorComponent) {
-        EntityRef target = event.getTarget();
-        target.send(new DamageEntityEvent(effectorComponent.damage));
-
-        String endId = buildEventID(END_POISON_ID, entity);
-        String applyId = buildEventID(APPLY_POISON_ID, entity);
-
-        if (delayManager.hasDelayedAction(target, endId)) {
-            delayManager.cancelDelayedAction(target, endId);
-            delayManager.addDelayedAction(target, endId, effectorComponent.poisonDuration);
-        } else {
-            inWorldRenderer.addParticleEffect(target, DefenceUris.POISON_PARTICLES);
-            delayManager.addPeriodicAction(target, applyId, POISON_RATE, POISON_RATE);
-            delayManager.addDelayedAction(target, endId, effectorComponent.poisonDuration);
+        DamageEntityEvent damageEvent = new DamageEntityEvent(effectorComponent.damage);
+        long gameTime = time.getGameTimeInMs();
+        long expiry = gameTime + effectorComponent.poisonDuration;
+        for (EntityRef target : event.getTargets()) {
+            if (!target.exists()) {
+                continue;
+            }
+            target.send(damageEvent);
+
+            PoisonEntry entry = poisonedEnemies.get(target);
+            if (entry == null) {
+                if (poisonedEnemies.isEmpty()) {
+                    /* Nothing was poisoned, so the first tick is a full rate from now */
+                    nextTick = gameTime + POISON_RATE;
+                }
+                entry = new PoisonEntry();
+                poisonedEnemies.put(target, entry);
+                inWorldRenderer.addParticleEffect(target, DefenceUris.POISON_PARTICLES);
+            }
+            entry.addPoison(entity, effectorComponent.poisonDamage, expiry);
         }
     }
 
     /**
-     * Deals a unit of poison damage to the enemy.
+     * Finds enemies loaded with poison particles, when the poison itself was not saved.
      * <p>
-     * Filters on {@link GooeyComponent}
-     * Called against the poisoned enemy
+     * Filters on {@link ChildrenParticleComponent}
      *
-     * @see PeriodicActionTriggeredEvent
+     * @see OnActivatedComponent
      */
     @ReceiveEvent
-    public void onPeriodicActionTriggered(PeriodicActionTriggeredEvent event, EntityRef entity, GooeyComponent enemyComponent) {
-        if (DefenceField.fieldActivated && isApplyEvent(event)) {
-
-            EntityRef effector = getEffectorEntity(event.getActionId());
-            PoisonEffectorComponent effectorComponent = effector.getComponent(PoisonEffectorComponent.class);
-            entity.send(new DamageEntityEvent(effectorComponent.poisonDamage));
+    public void onParticlesActivated(OnActivatedComponent event, EntityRef entity, ChildrenParticleComponent component) {
+        if (component.particleEntities.containsKey(DefenceUris.POISON_PARTICLES) && !poisonedEnemies.containsKey(entity)) {
+            staleParticles.add(entity);
         }
     }
 
     /**
-     * Ends the poison effect for an enemy.
-     * <p>
-     * Filters on {@link GooeyComponent}
-     * Called against the poisoned enemy
-     *
-     * @see DelayedActionTriggeredEvent
+     * Deals a unit of poison damage to every poisoned enemy, and ends any poisons that have run out.
+     * Also removes any particles found to have no poison.
      */
-    @ReceiveEvent
-    public void onDelayedActionTriggered(DelayedActionTriggeredEvent event, EntityRef entity, GooeyComponent enemyComponent) {
-        if (isEndEvent(event)) {
-            EntityRef effector = getEffectorEntity(event.getActionId());
-            delayManager.cancelPeriodicAction(entity, buildEventID(APPLY_POISON_ID, effector));
-            inWorldRenderer.removeParticleEffect(entity, DefenceUris.POISON_PARTICLES);
+    @Override
+    public void update(float delta) {
+        if (!staleParticles.isEmpty()) {
+            removeStaleParticles();
         }
-    }
+        long gameTime = time.getGameTimeInMs();
+        if (poisonedEnemies.isEmpty() || gameTime < nextTick) {
+            return;
+        }
+        nextTick = gameTime + POISON_RATE;
 
-    /**
-     * Creates the event ID given the base and the entity to encode
-     *
-     * @param baseId   The base ID string
-     * @param effector The entity id to encode
-     * @return The ID with the entity encoded
-     */
-    private String buildEventID(String baseId, EntityRef effector) {
-        return baseId + "|" + effector.getId();
+        Iterator<Map.Entry<EntityRef, PoisonEntry>> iterator = poisonedEnemies.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<EntityRef, PoisonEntry> mapEntry = iterator.next();
+            EntityRef enemy = mapEntry.getKey();
+            PoisonEntry entry = mapEntry.getValue();
+            if (!enemy.exists()) {
+                iterator.remove();
+                continue;
+            }
+            entry.removeExpired(gameTime);
+            if (entry.isEmpty()) {
+                iterator.remove();
+                inWorldRenderer.removeParticleEffect(enemy, DefenceUris.POISON_PARTICLES);
+            } else if (fieldManager.getFieldFor(enemy).isActivated()) {
+                enemy.send(new DamageEntityEvent(entry.getDamage()));
+            }
+        }
     }
 
     /**
-     * Checks if the event has the correct ID for an apply poison event
-     *
-     * @param event The event to check
-     * @return True if the event ID matches, false otherwise.
+     * Removes the poison particles from enemies that were loaded without any poison.
+     * Enemies poisoned again since they were loaded keep their particles.
      */
-    private boolean isApplyEvent(PeriodicActionTriggeredEvent event) {
-        return event.getActionId().startsWith(APPLY_POISON_ID);
+    private void removeStaleParticles() {
+        for (EntityRef enemy : staleParticles) {
+            if (enemy.exists()
+                    && !poisonedEnemies.containsKey(enemy)
+                    && enemy.hasComponent(ChildrenParticleComponent.class)
+                    && inWorldRenderer.hasParticleEffect(enemy, DefenceUris.POISON_PARTICLES)) {
+                inWorldRenderer.removeParticleEffect(enemy, DefenceUris.POISON_PARTICLES);
+            }
+        }
+        staleParticles.clear();
     }
 
     /**
-     * Checks if the event has the correct ID for an end poison event
-     *
-     * @param event The event to check
-     * @return True if the event ID matches, false otherwise.
+     * All the poisons on a single enemy.
+     * <p>
+     * Tracks the poison from each effector separately so that they can expire separately,
+     * but keeps the summed damage and earliest expiry so a tick only needs to read those.
      */
-    private boolean isEndEvent(DelayedActionTriggeredEvent event) {
-        return event.getActionId().startsWith(END_POISON_ID);
+    private static final class PoisonEntry {
+        /**
+         * The damage and expiry of the poison from each effector
+         */
+        private final Map<EntityRef, Poison> poisons = new HashMap<>();
+        private int damage;
+        private long nextExpiry = Long.MAX_VALUE;
+
+        /**
+         * Adds or refreshes the poison from an effector.
+         *
+         * @param effector The effector applying the poison
+         * @param damage   The damage dealt each tick
+         * @param expiry   The game time the poison ends at
+         */
+        private void addPoison(EntityRef effector, int damage, long expiry) {
+            poisons.put(effector, new Poison(damage, expiry));
+            recalculate();
+        }
+
+        /**
+         * Removes all the poisons that have ended by the given time
+         *
+         * @param gameTime The current game time
+         */
+        private void removeExpired(long gameTime) {
+            if (nextExpiry > gameTime) {
+                return;
+            }
+            poisons.values().removeIf(poison -> poison.expiry <= gameTime);
+            recalculate();
+        }
+
+        private void recalculate() {
+            damage = 0;
+            nextExpiry = Long.MAX_VALUE;
+            for (Poison poison : poisons.values()) {
+                damage += poison.damage;
+                nextExpiry = Math.min(nextExpiry, poison.expiry);
+            }
+        }
+
+        private boolean isEmpty() {
+            return poisons.isEmpty();
+        }
+
+        private int getDamage() {
+            return damage;
+        }
     }
 
     /**
-     * Gets the entity encoded within the event ID
-     *
-     * @param eventID The id to extract from
-     * @return The entity encoded.
+     * The poison from a single effector
      */
-    private EntityRef getEffectorEntity(String eventID) {
-        String id = eventID.substring(eventID.indexOf("|") + 1);
-        return entityManager.getEntity(Long.parseLong(id));
+    private static final class Poison {
+        private final int damage;
+        private final long expiry;
+
+        private Poison(int damage, long expiry) {
+            this.damage = damage;
+            this.expiry = expiry;
+        }
     }
 }
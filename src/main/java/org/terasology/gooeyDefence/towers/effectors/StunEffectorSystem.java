@@ -15,51 +15,52 @@
  */
 package org.terasology.gooeyDefence.towers.effectors;
 
+import org.terasology.engine.Time;
+import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
-import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.gooeyDefence.DefenceUris;
-import org.terasology.gooeyDefence.components.GooeyComponent;
-import org.terasology.gooeyDefence.movement.components.BlankPathComponent;
-import org.terasology.gooeyDefence.movement.components.PathComponent;
+import org.terasology.gooeyDefence.movement.MovementSystem;
+import org.terasology.gooeyDefence.movement.components.MovementComponent;
 import org.terasology.gooeyDefence.towers.TowerManager;
 import org.terasology.gooeyDefence.towers.components.TowerTargeter;
 import org.terasology.gooeyDefence.towers.events.ApplyEffectEvent;
 import org.terasology.gooeyDefence.visuals.InWorldRenderer;
-import org.terasology.logic.delay.DelayManager;
-import org.terasology.logic.delay.DelayedActionTriggeredEvent;
-import org.terasology.logic.location.LocationComponent;
-import org.terasology.math.geom.Vector3f;
+import org.terasology.gooeyDefence.visuals.components.ChildrenParticleComponent;
 import org.terasology.registry.In;
 import org.terasology.utilities.random.FastRandom;
 import org.terasology.utilities.random.Random;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Briefly pauses an enemy.
- * Does this by swapping the path component for the blank one.
+ * Does this by freezing the enemy's movement until the stun wears off,
+ * which the {@link MovementSystem} checks directly.
+ * <p>
+ * The stun particles are removed once the freeze has worn off. This is checked against the saved
+ * {@link MovementComponent#frozenUntil}, so particles on enemies loaded from a save are removed as well.
  *
  * @see StunEffectorComponent
- * @see BlankPathComponent
+ * @see MovementComponent#freeze(long, long)
  * @see TowerManager
  */
 @RegisterSystem
-public class StunEffectorSystem extends BaseComponentSystem {
+public class StunEffectorSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
     /**
-     * The id to use for the removal of the stun.
+     * The enemies found to have recovered this update.
+     * Reused each update.
      */
-    private static final String REMOVE_STUN_ID = "removeStun";
-    /**
-     * A list of the path components to re-apply to the enemy once the stun wears off.
-     */
-    private final Map<EntityRef, PathComponent> pathStorage = new HashMap<>();
+    private final List<EntityRef> recoveredEnemies = new ArrayList<>();
 
     @In
-    private DelayManager delayManager;
+    private Time time;
+    @In
+    private EntityManager entityManager;
     @In
     private Random random = new FastRandom();
 
@@ -76,18 +77,36 @@ public class StunEffectorSystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onApplyEffect(ApplyEffectEvent event, EntityRef entity, StunEffectorComponent component) {
-        EntityRef target = event.getTarget();
-        if (!pathStorage.containsKey(target) && canStun(event.getDamageMultiplier())) {
-
-            PathComponent pathComponent = DefenceField.getComponentExtending(target, PathComponent.class);
-            pathStorage.put(target, pathComponent);
-            target.removeComponent(pathComponent.getClass());
+        long gameTime = time.getGameTimeInMs();
+        for (EntityRef target : event.getTargets()) {
+            MovementComponent movementComponent = target.getComponent(MovementComponent.class);
+            if (movementComponent != null
+                    && !movementComponent.isFrozen(gameTime)
+                    && canStun(event.getDamageMultiplier())) {
+                movementComponent.freeze(gameTime, component.stunDuration);
+                target.saveComponent(movementComponent);
+                inWorldRenderer.addParticleEffect(target, DefenceUris.STUN_PARTICLES);
+            }
+        }
+    }
 
-            Vector3f position = target.getComponent(LocationComponent.class).getWorldPosition();
-            target.addComponent(new BlankPathComponent(position));
-            delayManager.addDelayedAction(target, REMOVE_STUN_ID, component.stunDuration);
-            inWorldRenderer.addParticleEffect(target, DefenceUris.STUN_PARTICLES);
+    /**
+     * Removes the stun particles from any enemies that have recovered.
+     * Only enemies with particle effects need to be checked.
+     */
+    @Override
+    public void update(float delta) {
+        long gameTime = time.getGameTimeInMs();
+        for (EntityRef enemy : entityManager.getEntitiesWith(ChildrenParticleComponent.class, MovementComponent.class)) {
+            if (!enemy.getComponent(MovementComponent.class).isFrozen(gameTime)
+                    && inWorldRenderer.hasParticleEffect(enemy, DefenceUris.STUN_PARTICLES)) {
+                recoveredEnemies.add(enemy);
+            }
         }
+        for (EntityRef enemy : recoveredEnemies) {
+            inWorldRenderer.removeParticleEffect(enemy, DefenceUris.STUN_PARTICLES);
+        }
+        recoveredEnemies.clear();
     }
 
     /**
@@ -102,22 +121,4 @@ public class StunEffectorSystem extends BaseComponentSystem {
         float stunResult = random.nextFloat();
         return stunResult <= 0.4 * damageMultiplier;
     }
-
-    /**
-     * Removes the stun from the enemy
-     * <p>
-     * Filters on {@link GooeyComponent}
-     * Sent against the enemy
-     *
-     * @see DelayedActionTriggeredEvent
-     */
-    @ReceiveEvent(components = GooeyComponent.class)
-    public void onDelayedActionTriggered(DelayedActionTriggeredEvent event, EntityRef entity) {
-        if (event.getActionId().equals(REMOVE_STUN_ID)) {
-            PathComponent pathComponent = pathStorage.remove(entity);
-            entity.removeComponent(DefenceField.getComponentExtending(entity, PathComponent.class).getClass());
-            entity.addComponent(pathComponent);
-            inWorldRenderer.removeParticleEffect(entity, DefenceUris.STUN_PARTICLES);
-        }
-    }
 }
@@ -43,10 +43,13 @@ public class VisualEffectorSystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onApplyEffect(ApplyEffectEvent event, EntityRef entity, VisualEffectorComponent component) {
-        SkeletalMeshComponent targetMesh = event.getTarget().getComponent(SkeletalMeshComponent.class);
-        targetMesh.scale.scale(2f);
-
-        event.getTarget().saveComponent(targetMesh);
+        for (EntityRef target : event.getTargets()) {
+            SkeletalMeshComponent targetMesh = target.getComponent(SkeletalMeshComponent.class);
+            if (targetMesh != null) {
+                targetMesh.scale.scale(2f);
+                target.saveComponent(targetMesh);
+            }
+        }
     }
 
     /**
@@ -58,8 +61,12 @@ public class VisualEffectorSystem extends BaseComponentSystem {
      */
     @ReceiveEvent
     public void onRemoveEffect(RemoveEffectEvent event, EntityRef entity, VisualEffectorComponent component) {
-        SkeletalMeshComponent targetMesh = event.getTarget().getComponent(SkeletalMeshComponent.class);
-        targetMesh.scale.scale(0.5f);
-        event.getTarget().saveComponent(targetMesh);
+        for (EntityRef target : event.getTargets()) {
+            SkeletalMeshComponent targetMesh = target.getComponent(SkeletalMeshComponent.class);
+            if (targetMesh != null) {
+                targetMesh.scale.scale(0.5f);
+                target.saveComponent(targetMesh);
+            }
+        }
     }
 }
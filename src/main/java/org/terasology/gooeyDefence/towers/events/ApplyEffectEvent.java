@@ -20,26 +20,31 @@ import org.terasology.entitySystem.event.Event;
 import org.terasology.gooeyDefence.towers.components.TowerEffector;
 import org.terasology.gooeyDefence.towers.components.TowerTargeter;
 
+import java.util.Collection;
+
 /**
- * Event sent to apply an effect to a target
- * Sent against the Effector blocks in the tower.
+ * Event sent to apply an effect to the targets of a shot
+ * Sent against the Effector blocks in the tower, once per shot.
+ * <p>
+ * The targets are only valid whilst the event is being handled.
+ * Targets may have been destroyed by effects applied earlier in the shot.
  *
  * @see TowerEffector
  */
 public class ApplyEffectEvent implements Event {
-    private final EntityRef target;
+    private final Collection<EntityRef> targets;
     private final float multiplier;
 
-    public ApplyEffectEvent(EntityRef target, float multiplier) {
-        this.target = target;
+    public ApplyEffectEvent(Collection<EntityRef> targets, float multiplier) {
+        this.targets = targets;
         this.multiplier = multiplier;
     }
 
     /**
-     * @return the enemy being targeted by this event.
+     * @return the enemies being targeted by this event.
      */
-    public EntityRef getTarget() {
-        return target;
+    public Collection<EntityRef> getTargets() {
+        return targets;
     }
 
     /**
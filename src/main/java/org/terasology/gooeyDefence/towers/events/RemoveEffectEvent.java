@@ -20,26 +20,30 @@ import org.terasology.entitySystem.event.Event;
 import org.terasology.gooeyDefence.towers.components.TowerEffector;
 import org.terasology.gooeyDefence.towers.components.TowerTargeter;
 
+import java.util.Collection;
+
 /**
- * Event sent to remove an effect from the target
- * Sent against the Effector that applied the effect.
+ * Event sent to remove an effect from the targets no longer targeted by a shot
+ * Sent against the Effector that applied the effect, once per shot.
+ * <p>
+ * The targets are only valid whilst the event is being handled.
  *
  * @see TowerEffector
  */
 public class RemoveEffectEvent implements Event {
-    private final EntityRef target;
+    private final Collection<EntityRef> targets;
     private final float multiplier;
 
-    public RemoveEffectEvent(EntityRef target, float multiplier) {
-        this.target = target;
+    public RemoveEffectEvent(Collection<EntityRef> targets, float multiplier) {
+        this.targets = targets;
         this.multiplier = multiplier;
     }
 
     /**
-     * @return The entity to remove the effect from.
+     * @return The entities to remove the effect from.
      */
-    public EntityRef getTarget() {
-        return target;
+    public Collection<EntityRef> getTargets() {
+        return targets;
     }
 
     /**
@@ -16,13 +16,10 @@
 package org.terasology.gooeyDefence.towers.targeters;
 
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.RegisterSystem;
-import org.terasology.gooeyDefence.EnemyManager;
 import org.terasology.gooeyDefence.towers.TowerManager;
-import org.terasology.gooeyDefence.towers.events.SelectEnemiesEvent;
 import org.terasology.gooeyDefence.visuals.InWorldRenderer;
-import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.registry.In;
 
 import java.util.Set;
@@ -36,27 +33,29 @@ import java.util.Set;
  * @see AoeTargeterComponent
  */
 @RegisterSystem
-public class AoeTargeterSystem extends BaseTargeterSystem {
-
-    @In
-    private EnemyManager enemyManager;
+public class AoeTargeterSystem extends BaseTargeterSystem implements TargetSelector<AoeTargeterComponent> {
 
     @In
     private InWorldRenderer inWorldRenderer;
 
+    @Override
+    public void initialise() {
+        towerManager.registerTargetSelector(AoeTargeterComponent.class, this);
+    }
+
     /**
      * Targets enemies in an aoe around the tower.
-     * <p>
-     * Filters on {@link LocationComponent} and {@link AoeTargeterComponent}.
-     *
-     * @see SelectEnemiesEvent
      */
-    @ReceiveEvent
-    public void onSelectEnemies(SelectEnemiesEvent event, EntityRef entity, LocationComponent locationComponent, AoeTargeterComponent targeterComponent) {
-        Set<EntityRef> targets = enemyManager.getEnemiesInRange(locationComponent.getWorldPosition(), targeterComponent.range);
-        event.addToList(targets);
+    @Override
+    public EntityRef selectTargets(Vector3f targeterPos, AoeTargeterComponent targeterComponent, EnemySnapshot enemies, Set<EntityRef> targets) {
+        enemies.addEnemiesInRange(targeterPos, targeterComponent.range, targets);
+        return EntityRef.NULL;
+    }
+
+    @Override
+    public void onTargetsSelected(Vector3f targeterPos, AoeTargeterComponent targeterComponent, EntityRef target, Set<EntityRef> targets) {
         if (!targets.isEmpty()) {
-            inWorldRenderer.displayExpandingSphere(locationComponent.getWorldPosition(), (float) targeterComponent.attackSpeed / 1000, targeterComponent.range * 2 + 1);
+            inWorldRenderer.displayExpandingSphere(targeterPos, (float) targeterComponent.attackSpeed / 1000, targeterComponent.range * 2 + 1);
         }
     }
 }
@@ -17,86 +17,101 @@ package org.terasology.gooeyDefence.towers.targeters;
 
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
-import org.terasology.gooeyDefence.DefenceField;
-import org.terasology.gooeyDefence.EnemyManager;
-import org.terasology.gooeyDefence.health.HealthComponent;
-import org.terasology.gooeyDefence.movement.components.PathComponent;
 import org.terasology.gooeyDefence.towers.SelectionMethod;
 import org.terasology.gooeyDefence.towers.TowerManager;
 import org.terasology.gooeyDefence.towers.components.TowerTargeter;
-import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.geom.Vector3f;
+import org.terasology.registry.In;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A base system for tower targeters that provides common methods.
  * This system is not required to be extended by tower systems.
+ * <p>
+ * All the methods provided only read from an {@link EnemySnapshot}, and so are safe to use from any thread.
  *
  * @see TowerTargeter
  * @see TowerManager
+ * @see TargetSelector
  */
 public class BaseTargeterSystem extends BaseComponentSystem {
+    @In
+    protected TowerManager towerManager;
 
     /**
-     * Picks the target from all within range based upon the selection method
+     * Picks the target from all the enemies within range, based upon the selection method.
+     * Enemies are within range if their squared distance to the position lies between the two bounds.
      *
-     * @param targets         All enemies within range
+     * @param enemies         The snapshot of all the enemies
+     * @param targeterPos     The position of the targeter
+     * @param minRangeSqr     The squared distance enemies must be further than
+     * @param maxRangeSqr     The squared distance enemies must be within
      * @param selectionMethod The selection method
-     * @return The single target, according to the selection method
+     * @return The single target, according to the selection method. The null entity if none were in range
      */
-    protected EntityRef getSingleTarget(Set<EntityRef> targets, SelectionMethod selectionMethod) {
-        Comparator<EntityRef> comparator;
+    protected EntityRef getSingleTarget(EnemySnapshot enemies, Vector3f targeterPos,
+                                        float minRangeSqr, float maxRangeSqr, SelectionMethod selectionMethod) {
+        int chosen = -1;
+        int inRange = 0;
+        for (int i = 0; i < enemies.size(); i++) {
+            float distance = enemies.distanceSquared(i, targeterPos);
+            if (distance <= minRangeSqr || distance > maxRangeSqr) {
+                continue;
+            }
+            inRange++;
+            if (chosen == -1 || isBetterTarget(enemies, i, chosen, selectionMethod, inRange)) {
+                chosen = i;
+            }
+        }
+        return chosen == -1 ? EntityRef.NULL : enemies.getEntity(chosen);
+    }
+
+    /**
+     * Compares two enemies using the selection method.
+     *
+     * @param enemies         The snapshot the enemies are in
+     * @param candidate       The index of the enemy being considered
+     * @param current         The index of the current best enemy
+     * @param selectionMethod The selection method
+     * @param inRange         The number of enemies considered so far, including the candidate
+     * @return True if the candidate should replace the current best enemy
+     */
+    private boolean isBetterTarget(EnemySnapshot enemies, int candidate, int current,
+                                   SelectionMethod selectionMethod, int inRange) {
         switch (selectionMethod) {
             case RANDOM:
-                List<EntityRef> listTargets = new ArrayList<>(targets);
-                Collections.shuffle(listTargets);
-                return listTargets.get(0);
+                /* Reservoir sampling, so that each enemy in range is equally likely */
+                return ThreadLocalRandom.current().nextInt(inRange) == 0;
             case WEAK:
-                comparator = (first, second) -> {
-                    HealthComponent firstComponent = first.getComponent(HealthComponent.class);
-                    HealthComponent secondComponent = second.getComponent(HealthComponent.class);
-                    return firstComponent.health - secondComponent.health;
-                };
-                break;
+                return enemies.getHealth(candidate) < enemies.getHealth(current);
             case FIRST:
-                comparator = (first, second) -> {
-                    PathComponent firstComponent = DefenceField.getComponentExtending(first, PathComponent.class);
-                    PathComponent secondComponent = DefenceField.getComponentExtending(second, PathComponent.class);
-                    return firstComponent.getStep() - secondComponent.getStep();
-                };
-                break;
+                return enemies.getRemainingDistance(candidate) < enemies.getRemainingDistance(current);
             case STRONG:
-                comparator = (first, second) -> {
-                    HealthComponent firstComponent = first.getComponent(HealthComponent.class);
-                    HealthComponent secondComponent = second.getComponent(HealthComponent.class);
-                    return secondComponent.health - firstComponent.health;
-                };
-                break;
+                return enemies.getHealth(candidate) > enemies.getHealth(current);
             default:
                 throw new EnumConstantNotPresentException(SelectionMethod.class, selectionMethod.toString());
         }
-        Optional<EntityRef> chosenEnemy = targets.stream().min(comparator);
-        return chosenEnemy.orElse(EntityRef.NULL);
     }
 
     /**
      * Checks if the enemy from last round can be reused.
      *
-     * @param targeterPos       The position of the target
-     * @param targeterComponent The targeter
+     * @param target      The enemy targeted last round
+     * @param enemies     The snapshot of all the enemies
+     * @param targeterPos The position of the targeter
+     * @param minRangeSqr The squared distance the enemy must be further than
+     * @param maxRangeSqr The squared distance the enemy must be within
      * @return True if the targeter can attack the enemy
      */
-    private boolean canUseTarget(EntityRef target, Vector3f targeterPos, TowerTargeter targeterComponent) {
-        return target.exists()
-                && target.getComponent(LocationComponent.class)
-                .getWorldPosition()
-                .distance(targeterPos) < targeterComponent.range;
+    private boolean canUseTarget(EntityRef target, EnemySnapshot enemies, Vector3f targeterPos,
+                                 float minRangeSqr, float maxRangeSqr) {
+        int index = enemies.indexOf(target);
+        if (index == -1) {
+            return false;
+        }
+        float distance = enemies.distanceSquared(index, targeterPos);
+        return distance < maxRangeSqr && distance > minRangeSqr;
     }
 
     /**
@@ -107,17 +122,43 @@ public class BaseTargeterSystem extends BaseComponentSystem {
      *
      * @param targeterPos       The position of the targeter block
      * @param targeterComponent The targeter component on the targeter
-     * @param enemyManager      The enemy manager to use if a new enemy needs to be picked
+     * @param enemies           The snapshot of all the enemies
+     * @return A suitable enemy in range, or the null entity if none was found
+     */
+    protected EntityRef getTarget(Vector3f targeterPos, SingleTargeterComponent targeterComponent, EnemySnapshot enemies) {
+        return getTarget(targeterPos, targeterComponent, enemies, -1);
+    }
+
+    /**
+     * Gets a single targetable enemy within the tower's range, that is not too close.
+     *
+     * @param targeterPos       The position of the targeter block
+     * @param targeterComponent The targeter component on the targeter
+     * @param enemies           The snapshot of all the enemies
+     * @return A suitable enemy in range, or the null entity if none was found
+     * @see #getTarget(Vector3f, SingleTargeterComponent, EnemySnapshot)
+     */
+    protected EntityRef getTarget(Vector3f targeterPos, SniperTargeterComponent targeterComponent, EnemySnapshot enemies) {
+        return getTarget(targeterPos, targeterComponent, enemies,
+                targeterComponent.minimumRange * targeterComponent.minimumRange);
+    }
+
+    /**
+     * Gets a single targetable enemy between two ranges.
+     *
+     * @param targeterPos       The position of the targeter block
+     * @param targeterComponent The targeter component on the targeter
+     * @param enemies           The snapshot of all the enemies
+     * @param minRangeSqr       The squared distance enemies must be further than
      * @return A suitable enemy in range, or the null entity if none was found
      */
-    protected EntityRef getTarget(Vector3f targeterPos, SingleTargeterComponent targeterComponent, EnemyManager enemyManager) {
+    private EntityRef getTarget(Vector3f targeterPos, SingleTargeterComponent targeterComponent,
+                                EnemySnapshot enemies, float minRangeSqr) {
+        float maxRangeSqr = targeterComponent.range * targeterComponent.range;
         EntityRef target = targeterComponent.lastTarget;
 
-        if (!canUseTarget(target, targeterPos, targeterComponent)) {
-            Set<EntityRef> enemiesInRange = enemyManager.getEnemiesInRange(
-                    targeterPos,
-                    targeterComponent.range);
-            target = getSingleTarget(enemiesInRange, targeterComponent.selectionMethod);
+        if (!canUseTarget(target, enemies, targeterPos, minRangeSqr, maxRangeSqr)) {
+            target = getSingleTarget(enemies, targeterPos, minRangeSqr, maxRangeSqr, targeterComponent.selectionMethod);
         }
         return target;
     }
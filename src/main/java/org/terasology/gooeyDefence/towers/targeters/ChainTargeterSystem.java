@@ -15,16 +15,10 @@
  */
 package org.terasology.gooeyDefence.towers.targeters;
 
-import com.google.common.collect.Sets;
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.RegisterSystem;
-import org.terasology.gooeyDefence.EnemyManager;
 import org.terasology.gooeyDefence.towers.TowerManager;
-import org.terasology.gooeyDefence.towers.events.SelectEnemiesEvent;
-import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.geom.Vector3f;
-import org.terasology.registry.In;
 
 import java.util.Set;
 
@@ -35,58 +29,58 @@ import java.util.Set;
  * @see TowerManager
  */
 @RegisterSystem
-public class ChainTargeterSystem extends BaseTargeterSystem {
+public class ChainTargeterSystem extends BaseTargeterSystem implements TargetSelector<ChainTargeterComponent> {
 
-    @In
-    private EnemyManager enemyManager;
+    @Override
+    public void initialise() {
+        towerManager.registerTargetSelector(ChainTargeterComponent.class, this);
+    }
 
-    /**
-     * Determine which enemies should be attacked.
-     * Called against the targeter entity.
-     * <p>
-     * Filters on {@link LocationComponent} and {@link ChainTargeterComponent}
-     *
-     * @see SelectEnemiesEvent
-     */
-    @ReceiveEvent
-    public void onSelectEnemies(SelectEnemiesEvent event, EntityRef entity, LocationComponent locationComponent, ChainTargeterComponent targeterComponent) {
-        EntityRef target = getTarget(locationComponent.getWorldPosition(), targeterComponent, enemyManager);
+    @Override
+    public EntityRef selectTargets(Vector3f targeterPos, ChainTargeterComponent targeterComponent, EnemySnapshot enemies, Set<EntityRef> targets) {
+        EntityRef target = getTarget(targeterPos, targeterComponent, enemies);
 
         if (target.exists()) {
-            event.addToList(chainToNearby(target, targeterComponent.chainLength, targeterComponent.chainRange));
+            chainToNearby(enemies, enemies.indexOf(target), targeterComponent.chainLength, targeterComponent.chainRange, targets);
         }
+        return target;
+    }
+
+    @Override
+    public void onTargetsSelected(Vector3f targeterPos, ChainTargeterComponent targeterComponent, EntityRef target, Set<EntityRef> targets) {
         targeterComponent.lastTarget = target;
     }
 
     /**
      * Chain to nearby enemies from a starting enemy.
      *
-     * @param start      The enemy to start chaining from
+     * @param enemies    The snapshot of all the enemies
+     * @param start      The index of the enemy to start chaining from
      * @param maxChain   The maximum number of enemies to chain to.
      * @param chainRange The maximum length of each chain link
-     * @return A set containing all chained enemies.
+     * @param result     The set to add all the chained enemies to
      */
-    private Set<EntityRef> chainToNearby(EntityRef start, int maxChain, float chainRange) {
-        Vector3f position = start.getComponent(LocationComponent.class).getWorldPosition();
-        Set<EntityRef> result = Sets.newHashSet(start);
+    private void chainToNearby(EnemySnapshot enemies, int start, int maxChain, float chainRange, Set<EntityRef> result) {
+        Vector3f position = enemies.getPosition(start, new Vector3f());
+        float chainRangeSqr = chainRange * chainRange;
+        result.add(enemies.getEntity(start));
 
         for (int i = 0; i < maxChain; i++) {
-            Set<EntityRef> enemies = enemyManager.getEnemiesInRange(position, chainRange);
-            enemies = Sets.difference(enemies, result);
-            if (enemies.isEmpty()) {
-                return result;
+            int closestEnemy = -1;
+            float closestDistance = Float.MAX_VALUE;
+            for (int enemy = 0; enemy < enemies.size(); enemy++) {
+                float distance = enemies.distanceSquared(enemy, position);
+                if (distance <= chainRangeSqr
+                        && distance < closestDistance
+                        && !result.contains(enemies.getEntity(enemy))) {
+                    closestEnemy = enemy;
+                    closestDistance = distance;
+                }
+            }
+            if (closestEnemy == -1) {
+                return;
             }
-            EntityRef closestEnemy = enemies.stream().min((first, second) -> {
-                LocationComponent firstComponent = first.getComponent(LocationComponent.class);
-                LocationComponent secondComponent = second.getComponent(LocationComponent.class);
-                float firstDistance = firstComponent.getWorldPosition().distanceSquared(position);
-                float secondDistance = secondComponent.getWorldPosition().distanceSquared(position);
-                return Float.compare(firstDistance, secondDistance);
-            }).orElse(EntityRef.NULL);
-            result.add(closestEnemy);
+            result.add(enemies.getEntity(closestEnemy));
         }
-        return result;
     }
-
-
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.towers.targeters;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.health.HealthComponent;
+import org.terasology.gooeyDefence.movement.components.PathComponent;
+import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable copy of the state of all the enemies in a field.
+ * <p>
+ * The positions, health and path progress of the enemies are stored in flat arrays,
+ * so that the snapshot can be shared by targeters running on multiple threads
+ * without touching the entity system.
+ *
+ * @see TargetSelector
+ */
+public final class EnemySnapshot {
+    private final EntityRef[] entities;
+    private final float[] positions;
+    private final int[] health;
+    private final float[] remainingDistances;
+    private final Map<EntityRef, Integer> indices;
+
+    /**
+     * Copies the state of the enemies given.
+     * Enemies without a location are skipped.
+     *
+     * @param enemies The enemies to copy
+     */
+    public EnemySnapshot(Collection<EntityRef> enemies) {
+        EntityRef[] entityBuffer = new EntityRef[enemies.size()];
+        float[] positionBuffer = new float[enemies.size() * 3];
+        int[] healthBuffer = new int[enemies.size()];
+        float[] distanceBuffer = new float[enemies.size()];
+        indices = new HashMap<>(enemies.size() * 2);
+
+        int count = 0;
+        for (EntityRef enemy : enemies) {
+            LocationComponent locationComponent = enemy.getComponent(LocationComponent.class);
+            if (locationComponent == null) {
+                continue;
+            }
+            Vector3f position = locationComponent.getWorldPosition();
+            HealthComponent healthComponent = enemy.getComponent(HealthComponent.class);
+
+            entityBuffer[count] = enemy;
+            positionBuffer[count * 3] = position.x;
+            positionBuffer[count * 3 + 1] = position.y;
+            positionBuffer[count * 3 + 2] = position.z;
+            healthBuffer[count] = healthComponent != null ? healthComponent.health : 0;
+            distanceBuffer[count] = DefenceField.hasComponentExtending(enemy, PathComponent.class)
+                    ? DefenceField.getComponentExtending(enemy, PathComponent.class).getRemainingDistance(position)
+                    : Float.MAX_VALUE;
+            indices.put(enemy, count);
+            count++;
+        }
+        entities = count == entityBuffer.length ? entityBuffer : Arrays.copyOf(entityBuffer, count);
+        positions = positionBuffer;
+        health = healthBuffer;
+        remainingDistances = distanceBuffer;
+    }
+
+    /**
+     * @return The number of enemies in the snapshot
+     */
+    public int size() {
+        return entities.length;
+    }
+
+    /**
+     * @param index The index of the enemy
+     * @return The enemy entity
+     */
+    public EntityRef getEntity(int index) {
+        return entities[index];
+    }
+
+    /**
+     * @param enemy The enemy to find
+     * @return The index of the enemy, or -1 if it is not in the snapshot
+     */
+    public int indexOf(EntityRef enemy) {
+        Integer index = indices.get(enemy);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * @param index The index of the enemy
+     * @param out   The vector to store the position in
+     * @return The out vector, for chaining
+     */
+    public Vector3f getPosition(int index, Vector3f out) {
+        return out.set(positions[index * 3], positions[index * 3 + 1], positions[index * 3 + 2]);
+    }
+
+    /**
+     * @param index The index of the enemy
+     * @return The health the enemy had when the snapshot was taken
+     */
+    public int getHealth(int index) {
+        return health[index];
+    }
+
+    /**
+     * @param index The index of the enemy
+     * @return The distance left along it's path the enemy had when the snapshot was taken.
+     * {@link Float#MAX_VALUE} if the enemy was not following a path
+     */
+    public float getRemainingDistance(int index) {
+        return remainingDistances[index];
+    }
+
+    /**
+     * @param index The index of the enemy
+     * @param pos   The position to measure from
+     * @return The squared distance between the enemy and the position
+     */
+    public float distanceSquared(int index, Vector3f pos) {
+        float x = positions[index * 3] - pos.x;
+        float y = positions[index * 3 + 1] - pos.y;
+        float z = positions[index * 3 + 2] - pos.z;
+        return x * x + y * y + z * z;
+    }
+
+    /**
+     * Obtain all the enemies that are within range of the given position.
+     *
+     * @param pos   The position to look for
+     * @param range The range to search in.
+     * @return A set of all enemies found within this range.
+     */
+    public Set<EntityRef> getEnemiesInRange(Vector3f pos, float range) {
+        Set<EntityRef> result = new HashSet<>();
+        addEnemiesInRange(pos, range, result);
+        return result;
+    }
+
+    /**
+     * Adds all the enemies that are within range of the given position to a collection.
+     *
+     * @param pos    The position to look for
+     * @param range  The range to search in.
+     * @param result The collection to add the enemies found to
+     */
+    public void addEnemiesInRange(Vector3f pos, float range, Collection<EntityRef> result) {
+        float rangeSqr = range * range;
+        for (int i = 0; i < entities.length; i++) {
+            if (distanceSquared(i, pos) <= rangeSqr) {
+                result.add(entities[i]);
+            }
+        }
+    }
+}
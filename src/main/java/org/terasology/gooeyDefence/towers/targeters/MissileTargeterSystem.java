@@ -16,14 +16,10 @@
 package org.terasology.gooeyDefence.towers.targeters;
 
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.RegisterSystem;
-import org.terasology.gooeyDefence.EnemyManager;
 import org.terasology.gooeyDefence.towers.TowerManager;
-import org.terasology.gooeyDefence.towers.events.SelectEnemiesEvent;
 import org.terasology.gooeyDefence.visuals.InWorldRenderer;
 import org.terasology.gooeyDefence.visuals.components.SplashBulletComponent;
-import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.registry.In;
 
@@ -38,34 +34,33 @@ import java.util.Set;
  * @see SniperTargeterSystem
  */
 @RegisterSystem
-public class MissileTargeterSystem extends SniperTargeterSystem {
+public class MissileTargeterSystem extends BaseTargeterSystem implements TargetSelector<MissileTargeterComponent> {
 
-    @In
-    private EnemyManager enemyManager;
     @In
     private InWorldRenderer inWorldRenderer;
 
-    /**
-     * Determine which enemies should be attacked.
-     * Called against the targeter entity.
-     * <p>
-     * Filters on {@link LocationComponent} and {@link MissileTargeterComponent}
-     *
-     * @see SelectEnemiesEvent
-     */
-    @ReceiveEvent
-    public void onSelectEnemies(SelectEnemiesEvent event, EntityRef entity, LocationComponent locationComponent, MissileTargeterComponent targeterComponent) {
+    @Override
+    public void initialise() {
+        towerManager.registerTargetSelector(MissileTargeterComponent.class, this);
+    }
+
+    @Override
+    public EntityRef selectTargets(Vector3f targeterPos, MissileTargeterComponent targeterComponent, EnemySnapshot enemies, Set<EntityRef> targets) {
+        EntityRef target = getTarget(targeterPos, targeterComponent, enemies);
 
-        Vector3f worldPos = locationComponent.getWorldPosition();
-        EntityRef target = getTarget(worldPos, targeterComponent);
+        if (target.exists()) {
+            Vector3f targetPos = enemies.getPosition(enemies.indexOf(target), new Vector3f());
+            enemies.addEnemiesInRange(targetPos, targeterComponent.splashRange, targets);
+        }
+        return target;
+    }
 
+    @Override
+    public void onTargetsSelected(Vector3f targeterPos, MissileTargeterComponent targeterComponent, EntityRef target, Set<EntityRef> targets) {
         if (target.exists()) {
-            Vector3f targetPos = target.getComponent(LocationComponent.class).getWorldPosition();
-            Set<EntityRef> targets = enemyManager.getEnemiesInRange(targetPos, targeterComponent.splashRange);
-            event.addToList(targets);
             inWorldRenderer.shootBulletTowards(
                     target,
-                    locationComponent.getWorldPosition(),
+                    targeterPos,
                     new SplashBulletComponent(targeterComponent.splashRange));
         }
         targeterComponent.lastTarget = target;
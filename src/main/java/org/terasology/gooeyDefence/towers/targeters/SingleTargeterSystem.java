@@ -16,15 +16,14 @@
 package org.terasology.gooeyDefence.towers.targeters;
 
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.RegisterSystem;
-import org.terasology.gooeyDefence.EnemyManager;
 import org.terasology.gooeyDefence.towers.TowerManager;
-import org.terasology.gooeyDefence.towers.events.SelectEnemiesEvent;
 import org.terasology.gooeyDefence.visuals.InWorldRenderer;
-import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.registry.In;
 
+import java.util.Set;
+
 /**
  * Targets a single enemy within range.
  *
@@ -32,34 +31,30 @@ import org.terasology.registry.In;
  * @see TowerManager
  */
 @RegisterSystem
-public class SingleTargeterSystem extends BaseTargeterSystem {
+public class SingleTargeterSystem extends BaseTargeterSystem implements TargetSelector<SingleTargeterComponent> {
 
-    @In
-    protected EnemyManager enemyManager;
     @In
     private InWorldRenderer inWorldRenderer;
 
-    /**
-     * Determine which enemies should be attacked.
-     * Called against the targeter entity.
-     * <p>
-     * Filters on {@link LocationComponent} and {@link SingleTargeterComponent}
-     *
-     * @see SelectEnemiesEvent
-     */
-    @ReceiveEvent
-    public void onDoSelectEnemies(SelectEnemiesEvent event, EntityRef entity, LocationComponent locationComponent, SingleTargeterComponent targeterComponent) {
-        EntityRef target = getTarget(locationComponent.getWorldPosition(), targeterComponent, enemyManager);
+    @Override
+    public void initialise() {
+        towerManager.registerTargetSelector(SingleTargeterComponent.class, this);
+    }
 
+    @Override
+    public EntityRef selectTargets(Vector3f targeterPos, SingleTargeterComponent targeterComponent, EnemySnapshot enemies, Set<EntityRef> targets) {
+        EntityRef target = getTarget(targeterPos, targeterComponent, enemies);
         if (target.exists()) {
-            event.addToList(target);
-            inWorldRenderer.shootBulletTowards(
-                    target,
-                    locationComponent.getWorldPosition());
+            targets.add(target);
         }
-        targeterComponent.lastTarget = target;
-
+        return target;
     }
 
-
+    @Override
+    public void onTargetsSelected(Vector3f targeterPos, SingleTargeterComponent targeterComponent, EntityRef target, Set<EntityRef> targets) {
+        if (target.exists()) {
+            inWorldRenderer.shootBulletTowards(target, targeterPos);
+        }
+        targeterComponent.lastTarget = target;
+    }
 }
@@ -15,15 +15,10 @@
  */
 package org.terasology.gooeyDefence.towers.targeters;
 
-import com.google.common.collect.Sets;
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.RegisterSystem;
-import org.terasology.gooeyDefence.EnemyManager;
 import org.terasology.gooeyDefence.towers.TowerManager;
-import org.terasology.gooeyDefence.towers.events.SelectEnemiesEvent;
 import org.terasology.gooeyDefence.visuals.InWorldRenderer;
-import org.terasology.logic.location.LocationComponent;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.registry.In;
 
@@ -36,72 +31,29 @@ import java.util.Set;
  * @see TowerManager
  */
 @RegisterSystem
-public class SniperTargeterSystem extends BaseTargeterSystem {
-    @In
-    private EnemyManager enemyManager;
+public class SniperTargeterSystem extends BaseTargeterSystem implements TargetSelector<SniperTargeterComponent> {
     @In
     private InWorldRenderer inWorldRenderer;
 
-    /**
-     * Determine which enemies should be attacked.
-     * Called against the targeter entity.
-     * <p>
-     * Filters on {@link LocationComponent} and {@link SniperTargeterComponent}
-     *
-     * @see SelectEnemiesEvent
-     */
-    @ReceiveEvent
-    public void onSelectEnemies(SelectEnemiesEvent event, EntityRef entity, LocationComponent locationComponent, SniperTargeterComponent targeterComponent) {
-        Vector3f worldPos = locationComponent.getWorldPosition();
-        EntityRef target = getTarget(worldPos, targeterComponent);
-        if (target.exists()) {
-            event.addToList(target);
-            inWorldRenderer.shootBulletTowards(
-                    target,
-                    locationComponent.getWorldPosition());
-        }
-        targeterComponent.lastTarget = target;
+    @Override
+    public void initialise() {
+        towerManager.registerTargetSelector(SniperTargeterComponent.class, this);
     }
 
-    /**
-     * Checks if the given enemy can be targeted
-     *
-     * @param target            The enemy to check
-     * @param targeterPos       The position of the target
-     * @param targeterComponent The targeter
-     * @return True if the targeter can attack the enemy
-     */
-    private boolean canUseTarget(EntityRef target, Vector3f targeterPos, SniperTargeterComponent targeterComponent) {
+    @Override
+    public EntityRef selectTargets(Vector3f targeterPos, SniperTargeterComponent targeterComponent, EnemySnapshot enemies, Set<EntityRef> targets) {
+        EntityRef target = getTarget(targeterPos, targeterComponent, enemies);
         if (target.exists()) {
-            Vector3f enemyLocation = target.getComponent(LocationComponent.class).getWorldPosition();
-            float enemyDistance = targeterPos.distanceSquared(enemyLocation);
-            return enemyDistance < targeterComponent.range * targeterComponent.range
-                    && enemyDistance > targeterComponent.minimumRange * targeterComponent.minimumRange;
-        } else {
-            return false;
+            targets.add(target);
         }
+        return target;
     }
 
-    /**
-     * Gets a single targetable enemy within the tower's range
-     * <p>
-     * Attempts to use the entity that was targeted last round.
-     * If that is not possible it picks an enemy in range based on the selection method listed
-     *
-     * @param targeterPos       The position of the targeter block
-     * @param targeterComponent The targeter component on the targeter
-     * @return A suitable enemy in range, or the null entity if none was found
-     */
-    protected EntityRef getTarget(Vector3f targeterPos, SniperTargeterComponent targeterComponent) {
-        EntityRef target = targeterComponent.lastTarget;
-        if (!canUseTarget(target, targeterPos, targeterComponent)) {
-
-            Set<EntityRef> outerEnemies = enemyManager.getEnemiesInRange(targeterPos, targeterComponent.range);
-            Set<EntityRef> innerEnemies = enemyManager.getEnemiesInRange(targeterPos, targeterComponent.minimumRange);
-            Set<EntityRef> inRangeEnemies = Sets.difference(outerEnemies, innerEnemies);
-
-            target = getSingleTarget(inRangeEnemies, targeterComponent.selectionMethod);
+    @Override
+    public void onTargetsSelected(Vector3f targeterPos, SniperTargeterComponent targeterComponent, EntityRef target, Set<EntityRef> targets) {
+        if (target.exists()) {
+            inWorldRenderer.shootBulletTowards(target, targeterPos);
         }
-        return target;
+        targeterComponent.lastTarget = target;
     }
 }
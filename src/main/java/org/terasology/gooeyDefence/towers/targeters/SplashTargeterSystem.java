@@ -16,16 +16,15 @@
 package org.terasology.gooeyDefence.towers.targeters;
 
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.RegisterSystem;
-import org.terasology.gooeyDefence.EnemyManager;
 import org.terasology.gooeyDefence.towers.TowerManager;
-import org.terasology.gooeyDefence.towers.events.SelectEnemiesEvent;
 import org.terasology.gooeyDefence.visuals.InWorldRenderer;
 import org.terasology.gooeyDefence.visuals.components.SplashBulletComponent;
-import org.terasology.logic.location.LocationComponent;
+import org.terasology.math.geom.Vector3f;
 import org.terasology.registry.In;
 
+import java.util.Set;
+
 /**
  * Selects a single target enemy and then targets all enemies within a small range of that enemy.
  *
@@ -33,32 +32,33 @@ import org.terasology.registry.In;
  * @see TowerManager
  */
 @RegisterSystem
-public class SplashTargeterSystem extends BaseTargeterSystem {
+public class SplashTargeterSystem extends BaseTargeterSystem implements TargetSelector<SplashTargeterComponent> {
 
-    @In
-    private EnemyManager enemyManager;
     @In
     private InWorldRenderer inWorldRenderer;
 
-    /**
-     * Determine which enemies should be attacked.
-     * Called against the targeter entity.
-     * <p>
-     * Filters on {@link LocationComponent} and {@link SplashTargeterComponent}
-     *
-     * @see SelectEnemiesEvent
-     */
-    @ReceiveEvent
-    public void onSelectEnemies(SelectEnemiesEvent event, EntityRef entity, LocationComponent locationComponent, SplashTargeterComponent targeterComponent) {
-        EntityRef target = getTarget(locationComponent.getWorldPosition(), targeterComponent, enemyManager);
+    @Override
+    public void initialise() {
+        towerManager.registerTargetSelector(SplashTargeterComponent.class, this);
+    }
+
+    @Override
+    public EntityRef selectTargets(Vector3f targeterPos, SplashTargeterComponent targeterComponent, EnemySnapshot enemies, Set<EntityRef> targets) {
+        EntityRef target = getTarget(targeterPos, targeterComponent, enemies);
 
         if (target.exists()) {
-            LocationComponent targetLocation = target.getComponent(LocationComponent.class);
-            event.addToList(enemyManager.getEnemiesInRange(targetLocation.getWorldPosition(), targeterComponent.splashRange));
+            Vector3f targetPos = enemies.getPosition(enemies.indexOf(target), new Vector3f());
+            enemies.addEnemiesInRange(targetPos, targeterComponent.splashRange, targets);
+        }
+        return target;
+    }
 
+    @Override
+    public void onTargetsSelected(Vector3f targeterPos, SplashTargeterComponent targeterComponent, EntityRef target, Set<EntityRef> targets) {
+        if (target.exists()) {
             inWorldRenderer.shootBulletTowards(
                     target,
-                    locationComponent.getWorldPosition(),
+                    targeterPos,
                     new SplashBulletComponent(targeterComponent.splashRange));
         }
 
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.towers.targeters;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.gooeyDefence.towers.TowerManager;
+import org.terasology.gooeyDefence.towers.components.TowerTargeter;
+import org.terasology.math.geom.Vector3f;
+
+import java.util.Set;
+
+/**
+ * Selects the enemies a type of targeter will attack.
+ * <p>
+ * Selection is split into two halves so that the targeting of every tower can be resolved in parallel.
+ * The first half only reads from an {@link EnemySnapshot} and may be called from any thread.
+ * The second half is called on the game thread, and is where any changes to entities should be made.
+ * <p>
+ * Selectors are registered with the {@link TowerManager} for the targeter component they handle.
+ *
+ * @param <T> The targeter component handled
+ * @see TowerManager#registerTargetSelector(Class, TargetSelector)
+ */
+public interface TargetSelector<T extends TowerTargeter> {
+    /**
+     * Determine which enemies should be attacked.
+     * This may be called from any thread, and so must not modify any entity or component.
+     *
+     * @param targeterPos       The position of the targeter block
+     * @param targeterComponent The targeter component on the targeter
+     * @param enemies           The state of the enemies in the field
+     * @param targets           The set to add the selected enemies to
+     * @return The main enemy targeted, or the null entity if there isn't one
+     */
+    EntityRef selectTargets(Vector3f targeterPos, T targeterComponent, EnemySnapshot enemies, Set<EntityRef> targets);
+
+    /**
+     * Called on the game thread once the targets have been selected, before the effects are applied.
+     * Used to store the target and display the attack.
+     *
+     * @param targeterPos       The position of the targeter block
+     * @param targeterComponent The targeter component on the targeter
+     * @param target            The main enemy targeted, or the null entity if there isn't one
+     * @param targets           All of the selected enemies that still exist
+     */
+    void onTargetsSelected(Vector3f targeterPos, T targeterComponent, EntityRef target, Set<EntityRef> targets);
+}
@@ -15,12 +15,12 @@
  */
 package org.terasology.gooeyDefence.ui;
 
-import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.DefenceUris;
 import org.terasology.gooeyDefence.components.ShrineComponent;
 import org.terasology.gooeyDefence.events.OnFieldActivated;
@@ -31,6 +31,11 @@ import org.terasology.rendering.nui.NUIManager;
 import org.terasology.rendering.nui.WidgetUtil;
 import org.terasology.rendering.nui.layers.ingame.DeathScreen;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Handles overwriting the death screen to allow for resetting and to disable information shown and the respawn option.
  *
@@ -41,11 +46,23 @@ public class DeathScreenSystem extends BaseComponentSystem {
     @In
     private NUIManager nuiManager;
     @In
-    private Time time;
+    private DefenceFieldManager fieldManager;
+    /**
+     * The fields whose shrine was destroyed, in the order they died.
+     * The death screen is shown for the first of them, and each is removed once it has been reset.
+     */
+    private final Deque<DefenceField> deadFields = new ArrayDeque<>();
+    /**
+     * The dead fields that are part way through being reset.
+     */
+    private final Set<DefenceField> resettingFields = new HashSet<>();
 
     /**
      * Used to display the death screen, and apply modifications to it.
      * <p>
+     * Only the field that died is stopped, the other fields keep on running.
+     * If the death screen is already open for another field, this field is shown once that one has reset.
+     * <p>
      * Sent when an entity dies
      * Filters on {@link ShrineComponent}
      *
@@ -53,42 +70,67 @@ public class DeathScreenSystem extends BaseComponentSystem {
      */
     @ReceiveEvent(components = ShrineComponent.class)
     public void onEntityDeath(EntityDeathEvent event, EntityRef entity) {
+        DefenceField field = fieldManager.getFieldFor(entity);
+        if (deadFields.contains(field)) {
+            return;
+        }
+        field.setActivated(false);
+        deadFields.add(field);
         if (!nuiManager.isOpen(DefenceUris.DEATH_SCREEN)) {
-            time.setPaused(true);
+            showDeathScreen();
+        }
+    }
+
+    /**
+     * Displays the death screen for the first dead field.
+     */
+    private void showDeathScreen() {
+        DefenceField field = deadFields.peek();
+        if (field != null) {
             DeathScreen deathScreen = nuiManager.pushScreen(DefenceUris.DEATH_SCREEN, DeathScreen.class);
-            WidgetUtil.trySubscribe(deathScreen, "retry", widget -> triggerReset());
+            WidgetUtil.trySubscribe(deathScreen, "retry", widget -> triggerReset(field));
         }
     }
 
     /**
      * Triggers the resetting of the field.
+     *
+     * @param field The dead field to reset
      */
-    private void triggerReset() {
-        DefenceField.fieldActivated = false;
-        OnFieldReset event = new OnFieldReset(this::doActivation);
+    private void triggerReset(DefenceField field) {
+        if (!resettingFields.add(field)) {
+            return;
+        }
+        OnFieldReset event = new OnFieldReset(field, () -> doActivation(field));
         event.beginTask();
-        DefenceField.getShrineEntity().send(event);
+        field.getShrineEntity().send(event);
         event.finishTask();
     }
 
     /**
      * Triggers the activation of the required game systems.
+     *
+     * @param field The field that has been reset
      */
-    private void doActivation() {
-        OnFieldActivated activateEvent = new OnFieldActivated(this::finishReset);
+    private void doActivation(DefenceField field) {
+        OnFieldActivated activateEvent = new OnFieldActivated(field, () -> finishReset(field));
         activateEvent.beginTask();
-        DefenceField.getShrineEntity().send(activateEvent);
+        field.getShrineEntity().send(activateEvent);
         activateEvent.finishTask();
     }
 
     /**
-     * Called when the systems have finished resetting & activating.
-     * Un-pauses the game and closes the screen
+     * Called when the systems have finished resetting & activating the field.
+     * Restarts the field and closes the screen, showing it again for the next dead field if there is one.
+     *
+     * @param field The field that has finished resetting
      */
-    private void finishReset() {
-        DefenceField.fieldActivated = true;
-        time.setPaused(false);
+    private void finishReset(DefenceField field) {
+        field.setActivated(true);
+        resettingFields.remove(field);
+        deadFields.remove(field);
         nuiManager.closeScreen(DefenceUris.DEATH_SCREEN);
+        showDeathScreen();
     }
 
 }
@@ -20,6 +20,7 @@ import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.DefenceUris;
 import org.terasology.gooeyDefence.DefenceWorldManager;
 import org.terasology.gooeyDefence.components.SavedGameFlagComponent;
@@ -44,6 +45,10 @@ public class ActivateScreenSystem extends BaseComponentSystem {
     private NUIManager nuiManager;
     @In
     private LocalPlayer localPlayer;
+    @In
+    private DefenceWorldManager defenceWorldManager;
+    @In
+    private DefenceFieldManager fieldManager;
 
     /**
      * Displays the activate screen when the loading screen is closed.
@@ -62,7 +67,7 @@ public class ActivateScreenSystem extends BaseComponentSystem {
             screen.setNewGame(!localPlayer.getCharacterEntity().hasComponent(SavedGameFlagComponent.class));
             localPlayer.getCharacterEntity().addOrSaveComponent(new SavedGameFlagComponent());
         } else if (event.getClosedScreenUri().equals(new ResourceUrn(DefenceUris.ACTIVATE_SCREEN))) {
-            DefenceWorldManager.activateWorld();
+            defenceWorldManager.activateField(fieldManager.getFieldFor(localPlayer.getCharacterEntity()));
         }
     }
 }
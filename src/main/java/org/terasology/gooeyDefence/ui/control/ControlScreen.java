@@ -15,7 +15,10 @@
  */
 package org.terasology.gooeyDefence.ui.control;
 
+import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.waves.WaveManager;
+import org.terasology.logic.players.LocalPlayer;
 import org.terasology.registry.In;
 import org.terasology.rendering.nui.CoreScreenLayer;
 import org.terasology.rendering.nui.UIWidget;
@@ -33,6 +36,10 @@ public class ControlScreen extends CoreScreenLayer {
 
     @In
     private WaveManager waveManager;
+    @In
+    private DefenceFieldManager fieldManager;
+    @In
+    private LocalPlayer localPlayer;
 
     private UIWaveInfo waveInfo;
 
@@ -42,18 +49,18 @@ public class ControlScreen extends CoreScreenLayer {
         UILabel waveDuration = find("waveDuration", UILabel.class);
 
         WidgetUtil.trySubscribe(this, "startButton", this::startButtonPressed);
-        waveInfo.setWaveInfo(waveManager.getCurrentWave());
+        waveInfo.setWaveInfo(waveManager.getCurrentWave(getPlayerField()));
         waveDuration.bindText(new ReadOnlyBinding<String>() {
             @Override
             public String get() {
-                return String.format("%.1fs", Math.max(0f, waveManager.getRemainingDuration()));
+                return String.format("%.1fs", Math.max(0f, waveManager.getRemainingDuration(getPlayerField())));
 
             }
         });
         waveDuration.bindVisible(new ReadOnlyBinding<Boolean>() {
             @Override
             public Boolean get() {
-                return waveManager.isAttackUnderway();
+                return waveManager.isAttackUnderway(getPlayerField());
             }
         });
     }
@@ -80,13 +87,20 @@ public class ControlScreen extends CoreScreenLayer {
      */
     @SuppressWarnings("unused")
     private void startButtonPressed(UIWidget ignored) {
-        waveManager.startAttack();
+        waveManager.startAttack(getPlayerField());
     }
 
     /**
      * Reloads the WaveInfo from the WaveManager.
      */
     public void reloadWaveInfo() {
-        this.waveInfo.setWaveInfo(waveManager.getCurrentWave());
+        this.waveInfo.setWaveInfo(waveManager.getCurrentWave(getPlayerField()));
+    }
+
+    /**
+     * @return The field the local player is currently in
+     */
+    private DefenceField getPlayerField() {
+        return fieldManager.getFieldFor(localPlayer.getCharacterEntity());
     }
 }
@@ -15,17 +15,34 @@
  */
 package org.terasology.gooeyDefence.ui.hud;
 
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.metadata.ComponentMetadata;
+import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
+import org.terasology.gooeyDefence.EnemyManager;
 import org.terasology.gooeyDefence.StatSystem;
+import org.terasology.gooeyDefence.movement.PathfindingManager;
+import org.terasology.gooeyDefence.profiling.ProfilingSystem;
 import org.terasology.gooeyDefence.ui.control.UIWaveInfo;
+import org.terasology.gooeyDefence.visuals.InWorldRenderer;
 import org.terasology.gooeyDefence.waves.WaveManager;
+import org.terasology.logic.delay.DelayedActionComponent;
+import org.terasology.logic.delay.PeriodicActionComponent;
+import org.terasology.logic.players.LocalPlayer;
+import org.terasology.reflection.metadata.FieldMetadata;
 import org.terasology.registry.In;
 import org.terasology.rendering.nui.databinding.ReadOnlyBinding;
 import org.terasology.rendering.nui.layers.hud.CoreHudWidget;
 import org.terasology.rendering.nui.widgets.UILabel;
 
+import java.util.Map;
+
 /**
  * A HUD layer that displays various different hud elements.
  * This includes the next/current wave & it's duration and the amount of money
+ * as well as an optional performance overlay.
  *
  * @see DefenceHudManager
  */
@@ -34,8 +51,23 @@ public class DefenceHud extends CoreHudWidget {
     private WaveManager waveManager;
     @In
     private StatSystem statSystem;
+    @In
+    private EnemyManager enemyManager;
+    @In
+    private InWorldRenderer inWorldRenderer;
+    @In
+    private PathfindingManager pathfindingManager;
+    @In
+    private ProfilingSystem profilingSystem;
+    @In
+    private EntityManager entityManager;
+    @In
+    private DefenceFieldManager fieldManager;
+    @In
+    private LocalPlayer localPlayer;
 
     private UIWaveInfo waveInfo;
+    private UIPerformanceOverlay performanceOverlay;
 
 
     @Override
@@ -48,14 +80,14 @@ public class DefenceHud extends CoreHudWidget {
         waveDuration.bindText(new ReadOnlyBinding<String>() {
             @Override
             public String get() {
-                return String.format("%.1fs", Math.max(0f, waveManager.getRemainingDuration()));
+                return String.format("%.1fs", Math.max(0f, waveManager.getRemainingDuration(getPlayerField())));
 
             }
         });
         waveDuration.bindVisible(new ReadOnlyBinding<Boolean>() {
             @Override
             public Boolean get() {
-                return waveManager.isAttackUnderway();
+                return waveManager.isAttackUnderway(getPlayerField());
             }
         });
         moneyLabel.bindText(new ReadOnlyBinding<String>() {
@@ -65,12 +97,77 @@ public class DefenceHud extends CoreHudWidget {
             }
         });
 
+        performanceOverlay = find("performanceOverlay", UIPerformanceOverlay.class);
+        if (performanceOverlay != null) {
+            performanceOverlay.addCounter("Enemies", enemyManager::getEnemyCount);
+            performanceOverlay.addCounter("Bullets", inWorldRenderer::getBulletCount);
+            FieldMetadata<DelayedActionComponent, ?> delayedActions = getActionField(DelayedActionComponent.class);
+            FieldMetadata<PeriodicActionComponent, ?> periodicActions = getActionField(PeriodicActionComponent.class);
+            performanceOverlay.addCounter("Delayed actions",
+                    () -> countActions(DelayedActionComponent.class, delayedActions));
+            performanceOverlay.addCounter("Periodic actions",
+                    () -> countActions(PeriodicActionComponent.class, periodicActions));
+            performanceOverlay.addCounter("Path requests", pathfindingManager::getRequestsInFlight);
+            performanceOverlay.setProfilingSystem(profilingSystem);
+        }
+    }
+
+    /**
+     * Gets the field the delay components store their scheduled actions in.
+     * The field is private, so it is read through the component metadata.
+     *
+     * @param type The delay component to get the field of
+     * @param <T>  The type of the component
+     * @return The map of action ids to wake up times, or null if the component has no such field
+     */
+    private <T extends Component> FieldMetadata<T, ?> getActionField(Class<T> type) {
+        ComponentMetadata<T> metadata = entityManager.getComponentLibrary().getMetadata(type);
+        return metadata != null ? metadata.getField("actionIdsWakeUp") : null;
+    }
+
+    /**
+     * Counts the actions scheduled on every entity with a delay component.
+     * Each entity counts as a single action if the field holding them could not be found.
+     *
+     * @param type        The delay component to count the actions of
+     * @param actionField The field holding the scheduled actions
+     * @param <T>         The type of the component
+     * @return The total number of scheduled actions
+     */
+    private <T extends Component> int countActions(Class<T> type, FieldMetadata<T, ?> actionField) {
+        if (actionField == null) {
+            return entityManager.getCountOfEntitiesWith(type);
+        }
+        int count = 0;
+        for (EntityRef entity : entityManager.getEntitiesWith(type)) {
+            Object actions = actionField.getValue(entity.getComponent(type));
+            if (actions instanceof Map) {
+                count += ((Map<?, ?>) actions).size();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Shows or hides the performance overlay.
+     */
+    public void togglePerformanceOverlay() {
+        if (performanceOverlay != null) {
+            performanceOverlay.toggle();
+        }
     }
 
     /**
      * Gets the screen to update the displayed wave to whatever the current wave is.
      */
     public void updateCurrentWave() {
-        waveInfo.setWaveInfo(waveManager.getCurrentWave());
+        waveInfo.setWaveInfo(waveManager.getCurrentWave(getPlayerField()));
+    }
+
+    /**
+     * @return The field the local player is currently in
+     */
+    private DefenceField getPlayerField() {
+        return fieldManager.getFieldFor(localPlayer.getCharacterEntity());
     }
 }
@@ -19,10 +19,14 @@ import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.DefenceUris;
 import org.terasology.gooeyDefence.StatSystem;
 import org.terasology.gooeyDefence.waves.OnWaveEnd;
+import org.terasology.logic.console.commandSystem.annotations.Command;
+import org.terasology.logic.players.LocalPlayer;
 import org.terasology.math.geom.Rect2f;
+import org.terasology.network.ClientComponent;
 import org.terasology.registry.In;
 import org.terasology.rendering.nui.NUIManager;
 import org.terasology.rendering.nui.databinding.ReadOnlyBinding;
@@ -41,6 +45,10 @@ public class DefenceHudManager extends BaseComponentSystem {
 
     @In
     private StatSystem statSystem;
+    @In
+    private DefenceFieldManager fieldManager;
+    @In
+    private LocalPlayer localPlayer;
 
     private DefenceHud defenceHud;
 
@@ -61,7 +69,7 @@ public class DefenceHudManager extends BaseComponentSystem {
         healthBar.bindValue(new ReadOnlyBinding<Float>() {
             @Override
             public Float get() {
-                return (float) statSystem.getShrineHealth();
+                return (float) statSystem.getShrineHealth(fieldManager.getFieldFor(localPlayer.getCharacterEntity()));
             }
         });
     }
@@ -77,4 +85,31 @@ public class DefenceHudManager extends BaseComponentSystem {
     public void onWaveEnd(OnWaveEnd event, EntityRef entity) {
         defenceHud.updateCurrentWave();
     }
+
+    /**
+     * Shows or hides the performance overlay.
+     * <p>
+     * Called when the toggle button is pressed.
+     * Filters on {@link ClientComponent}
+     *
+     * @see TogglePerformanceOverlayButton
+     */
+    @ReceiveEvent(components = ClientComponent.class)
+    public void onTogglePerformanceOverlay(TogglePerformanceOverlayButton event, EntityRef entity) {
+        if (event.isDown()) {
+            defenceHud.togglePerformanceOverlay();
+            event.consume();
+        }
+    }
+
+    /**
+     * Shows or hides the performance overlay.
+     *
+     * @return A confirmation message
+     */
+    @Command(shortDescription = "Toggles the Gooey Defence performance overlay")
+    public String defenceOverlay() {
+        defenceHud.togglePerformanceOverlay();
+        return "Toggled performance overlay";
+    }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.ui.hud;
+
+import org.terasology.input.BindButtonEvent;
+import org.terasology.input.DefaultBinding;
+import org.terasology.input.InputType;
+import org.terasology.input.Keyboard;
+import org.terasology.input.RegisterBindButton;
+
+/**
+ * Shows or hides the performance overlay on the {@link DefenceHud}.
+ *
+ * @see UIPerformanceOverlay
+ */
+@RegisterBindButton(id = "togglePerformanceOverlay", description = "Toggle Performance Overlay", category = "gooeyDefence")
+@DefaultBinding(type = InputType.KEY, id = Keyboard.KeyId.F7)
+public class TogglePerformanceOverlayButton extends BindButtonEvent {
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.ui.hud;
+
+import org.terasology.gooeyDefence.profiling.ProfilingSystem;
+import org.terasology.gooeyDefence.profiling.SystemTimer;
+import org.terasology.math.geom.Vector2i;
+import org.terasology.rendering.assets.font.Font;
+import org.terasology.rendering.nui.Canvas;
+import org.terasology.rendering.nui.CoreWidget;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+/**
+ * Displays live performance figures for the module.
+ * <p>
+ * Values are sampled a few times a second into ring buffers, rather than through per frame bindings.
+ * The displayed text is only rebuilt when a new sample is taken.
+ *
+ * @see DefenceHud
+ * @see ProfilingSystem
+ */
+public class UIPerformanceOverlay extends CoreWidget {
+    /**
+     * Seconds between each sample
+     */
+    private static final float SAMPLE_INTERVAL = 0.25f;
+    /**
+     * The number of samples kept for each value
+     */
+    private static final int SAMPLE_COUNT = 40;
+
+    /**
+     * The counters to sample, by the label to show them with
+     */
+    private final Map<String, IntSupplier> counters = new LinkedHashMap<>();
+    private final Map<String, RingBuffer> counterSamples = new LinkedHashMap<>();
+    /**
+     * The frame time of each profiled system, by the timer name
+     */
+    private final Map<String, RingBuffer> timerSamples = new LinkedHashMap<>();
+    private final StringBuilder builder = new StringBuilder();
+
+    private ProfilingSystem profilingSystem;
+    private float timeSinceSample = SAMPLE_INTERVAL;
+    private String text = "";
+    private List<String> lines = new ArrayList<>();
+
+    public UIPerformanceOverlay() {
+        setVisible(false);
+    }
+
+    @Override
+    public void update(float delta) {
+        super.update(delta);
+        if (!isVisible()) {
+            return;
+        }
+        timeSinceSample += delta;
+        if (timeSinceSample >= SAMPLE_INTERVAL) {
+            timeSinceSample = 0;
+            takeSample();
+            rebuildText();
+        }
+    }
+
+    @Override
+    public void onDraw(Canvas canvas) {
+        canvas.drawText(text);
+    }
+
+    @Override
+    public Vector2i getPreferredContentSize(Canvas canvas, Vector2i sizeHint) {
+        Font font = canvas.getCurrentStyle().getFont();
+        return font.getSize(lines);
+    }
+
+    /**
+     * Adds a value to be sampled and shown.
+     *
+     * @param label  The label to show the value with
+     * @param source Provides the current value
+     */
+    public void addCounter(String label, IntSupplier source) {
+        counters.put(label, source);
+        counterSamples.put(label, new RingBuffer());
+    }
+
+    /**
+     * @param profilingSystem The system to take the per system frame times from
+     */
+    public void setProfilingSystem(ProfilingSystem profilingSystem) {
+        this.profilingSystem = profilingSystem;
+    }
+
+    /**
+     * Shows or hides the overlay.
+     * Samples are only taken while it is shown.
+     */
+    public void toggle() {
+        setVisible(!isVisible());
+        timeSinceSample = SAMPLE_INTERVAL;
+    }
+
+    /**
+     * Reads all the counters and timers into the ring buffers
+     */
+    private void takeSample() {
+        for (Map.Entry<String, IntSupplier> counter : counters.entrySet()) {
+            counterSamples.get(counter.getKey()).add(counter.getValue().getAsInt());
+        }
+        if (profilingSystem != null) {
+            for (SystemTimer timer : profilingSystem.getTimers()) {
+                timerSamples.computeIfAbsent(timer.getName(), name -> new RingBuffer())
+                        .add(timer.getFrameMillis());
+            }
+        }
+    }
+
+    /**
+     * Builds the displayed text from the latest samples
+     */
+    private void rebuildText() {
+        builder.setLength(0);
+        for (Map.Entry<String, RingBuffer> entry : counterSamples.entrySet()) {
+            RingBuffer samples = entry.getValue();
+            builder.append(String.format("%s: %.0f (max %.0f)\n", entry.getKey(), samples.getLatest(), samples.getMax()));
+        }
+        for (Map.Entry<String, RingBuffer> entry : timerSamples.entrySet()) {
+            RingBuffer samples = entry.getValue();
+            builder.append(String.format("%s: %.2fms (avg %.2f, max %.2f)\n",
+                    entry.getKey(), samples.getLatest(), samples.getAverage(), samples.getMax()));
+        }
+        text = builder.toString().trim();
+        lines = Arrays.asList(text.split("\n"));
+    }
+
+    /**
+     * A fixed size buffer of the most recent samples of a value
+     */
+    private static final class RingBuffer {
+        private final float[] values = new float[SAMPLE_COUNT];
+        private int index;
+        private int count;
+
+        void add(float value) {
+            values[index] = value;
+            index = (index + 1) % SAMPLE_COUNT;
+            count = Math.min(count + 1, SAMPLE_COUNT);
+        }
+
+        float getLatest() {
+            return count == 0 ? 0 : values[(index + SAMPLE_COUNT - 1) % SAMPLE_COUNT];
+        }
+
+        float getMax() {
+            float max = 0;
+            for (int i = 0; i < count; i++) {
+                max = Math.max(max, values[i]);
+            }
+            return max;
+        }
+
+        float getAverage() {
+            float total = 0;
+            for (int i = 0; i < count; i++) {
+                total += values[i];
+            }
+            return count == 0 ? 0 : total / count;
+        }
+    }
+}
@@ -58,15 +58,28 @@ public class ShopScreen extends CoreScreenLayer {
     private UILabel wareCost;
     private Block selectedBlock;
     private Prefab selectedPrefab;
+    /**
+     * The version of the shop catalogue the ware list was built from.
+     */
+    private int wareListVersion = -1;
     @In
     private LocalPlayer localPlayer;
     @In
     private ShopManager shopManager;
 
+    /**
+     * Builds the ware list if the wares for sale have changed since it was last built.
+     * Otherwise the widgets from the last time the screen was open are reused.
+     */
     @Override
     public void onOpened() {
-        addItems(shopManager.getAllItems());
-        addBlocks(shopManager.getAllBlocks());
+        int catalogueVersion = shopManager.getCatalogueVersion();
+        if (catalogueVersion != wareListVersion) {
+            wareList.removeAllWidgets();
+            addItems(shopManager.getAllItems());
+            addBlocks(shopManager.getAllBlocks());
+            wareListVersion = catalogueVersion;
+        }
     }
 
     @Override
@@ -103,7 +116,8 @@ public class ShopScreen extends CoreScreenLayer {
 
     @Override
     public void onClosed() {
-        wareList.removeAllWidgets();
+        selectedBlock = null;
+        selectedPrefab = null;
         wareName.setText("");
         wareDescription.setText("");
 
@@ -132,7 +146,7 @@ public class ShopScreen extends CoreScreenLayer {
             wrapper.setTooltipLines(Collections.singletonList(new TooltipLine(getPrefabName(item))));
             wrapper.setListener(widget -> handlePrefabSelected(item));
             wrapper.setContent(itemIcon);
-            wareList.addWidget(itemIcon, null);
+            wareList.addWidget(wrapper, null);
         }
     }
 
@@ -145,7 +159,7 @@ public class ShopScreen extends CoreScreenLayer {
         for (Block block : blocks) {
             ItemIcon itemIcon = new ItemIcon();
 
-            itemIcon.setMesh(block.getMeshGenerator().getStandaloneMesh());
+            itemIcon.setMesh(shopManager.getBlockMesh(block));
             itemIcon.setMeshTexture(texture);
 
             UIInteractionWrapper wrapper = new UIInteractionWrapper();
@@ -205,7 +219,7 @@ public class ShopScreen extends CoreScreenLayer {
 
         selectedBlock = block;
         selectedPrefab = null;
-        wareDisplay.setMesh(block.getMeshGenerator().getStandaloneMesh());
+        wareDisplay.setMesh(shopManager.getBlockMesh(block));
     }
 
     /**
@@ -35,6 +35,7 @@ import org.terasology.rendering.nui.widgets.UILabel;
 import org.terasology.rendering.nui.widgets.UIList;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -78,6 +79,13 @@ public class TowerInfoScreen extends CoreScreenLayer {
     /* Elements of the tower and block selected */
     private TowerComponent towerComponent;
     private EntityRef blockEntity = EntityRef.NULL;
+    private UpgradingSystem upgradingSystem;
+    /* Cached copies of the tower's blocks, only rebuilt when the tower changes */
+    private List<EntityRef> cores = Collections.emptyList();
+    private List<EntityRef> effectors = Collections.emptyList();
+    private List<EntityRef> targeters = Collections.emptyList();
+    private TowerComponent cachedTower;
+    private int cachedBlocksVersion;
     /* Bindings and other reused anonymous classes */
     private final ReadOnlyBinding<Boolean> generalVisibleBinding = new ReadOnlyBinding<Boolean>() {
         @Override
@@ -106,6 +114,7 @@ public class TowerInfoScreen extends CoreScreenLayer {
     public void onClosed() {
         blockEntity = EntityRef.NULL;
         towerComponent = null;
+        refreshBlockLists();
 
         effectorList.setSelection(null);
         targeterList.setSelection(null);
@@ -220,7 +229,8 @@ public class TowerInfoScreen extends CoreScreenLayer {
         coreList.bindList(new ReadOnlyBinding<List<EntityRef>>() {
             @Override
             public List<EntityRef> get() {
-                return towerComponent == null ? new ArrayList<>() : new ArrayList<>(towerComponent.cores);
+                refreshBlockLists();
+                return cores;
             }
         });
     }
@@ -234,7 +244,8 @@ public class TowerInfoScreen extends CoreScreenLayer {
         effectorList.bindList(new ReadOnlyBinding<List<EntityRef>>() {
             @Override
             public List<EntityRef> get() {
-                return towerComponent == null ? new ArrayList<>() : new ArrayList<>(towerComponent.effector);
+                refreshBlockLists();
+                return effectors;
             }
         });
     }
@@ -248,7 +259,8 @@ public class TowerInfoScreen extends CoreScreenLayer {
         targeterList.bindList(new ReadOnlyBinding<List<EntityRef>>() {
             @Override
             public List<EntityRef> get() {
-                return towerComponent == null ? new ArrayList<>() : new ArrayList<>(towerComponent.targeter);
+                refreshBlockLists();
+                return targeters;
             }
         });
 
@@ -264,6 +276,24 @@ public class TowerInfoScreen extends CoreScreenLayer {
         targetSelectionButtons[3].subscribe(widget -> targetingOptionSelected(SelectionMethod.RANDOM));
     }
 
+    /**
+     * Rebuilds the cached block lists if the tower shown, or the blocks in it, have changed.
+     */
+    private void refreshBlockLists() {
+        if (towerComponent == null) {
+            cachedTower = null;
+            cores = Collections.emptyList();
+            effectors = Collections.emptyList();
+            targeters = Collections.emptyList();
+        } else if (towerComponent != cachedTower || towerComponent.getBlocksVersion() != cachedBlocksVersion) {
+            cachedTower = towerComponent;
+            cachedBlocksVersion = towerComponent.getBlocksVersion();
+            cores = new ArrayList<>(towerComponent.cores);
+            effectors = new ArrayList<>(towerComponent.effector);
+            targeters = new ArrayList<>(towerComponent.targeter);
+        }
+    }
+
     /**
      * Subscribes a block list widget to being clicked.
      *
@@ -302,6 +332,9 @@ public class TowerInfoScreen extends CoreScreenLayer {
     private void targetingOptionSelected(SelectionMethod selectionMethod) {
         SingleTargeterComponent targeter = DefenceField.getComponentExtending(blockEntity, SingleTargeterComponent.class);
         targeter.selectionMethod = selectionMethod;
+        if (upgradingSystem != null) {
+            upgradingSystem.markComponentChanged(targeter);
+        }
     }
 
 
@@ -323,6 +356,7 @@ public class TowerInfoScreen extends CoreScreenLayer {
      */
     /* package-private */
     void setUpgradingSystem(UpgradingSystem newSystem) {
+        upgradingSystem = newSystem;
         blockUpgrades.setUpgradingSystem(newSystem);
     }
 }
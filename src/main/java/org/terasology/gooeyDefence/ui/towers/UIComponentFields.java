@@ -46,6 +46,10 @@ public class UIComponentFields extends CoreWidget {
     private Binding<List<String>> values = new DefaultBinding<>(new ArrayList<>());
     private Binding<List<String>> upgrades = new DefaultBinding<>(new ArrayList<>());
     private Binding<Boolean> showUpgrade = new DefaultBinding<>(false);
+    /* The text drawn for each column, only rebuilt when the list bound changes */
+    private final JoinedText fieldsText = new JoinedText();
+    private final JoinedText valuesText = new JoinedText();
+    private final JoinedText upgradesText = new JoinedText();
 
     @Override
     public void onDraw(Canvas canvas) {
@@ -55,7 +59,7 @@ public class UIComponentFields extends CoreWidget {
         if (list != null) {
             int offset = (canvas.size().x - getPreferredContentSize(canvas, canvas.size()).x) / 2;
             Vector2i listSize = font.getSize(list);
-            canvas.drawTextRaw(String.join("\n", list),
+            canvas.drawTextRaw(fieldsText.get(list),
                     font,
                     Color.WHITE,
                     Rect2i.createFromMinAndSize(new Vector2i(offset, 0), listSize));
@@ -63,7 +67,7 @@ public class UIComponentFields extends CoreWidget {
             list = values.get();
             offset += listSize.x + SPACING;
             listSize = font.getSize(list);
-            canvas.drawTextRaw(String.join("\n", values.get()),
+            canvas.drawTextRaw(valuesText.get(list),
                     font,
                     Color.WHITE,
                     Rect2i.createFromMinAndSize(new Vector2i(offset, 0), listSize),
@@ -74,7 +78,7 @@ public class UIComponentFields extends CoreWidget {
                 list = upgrades.get();
                 offset += listSize.x + SPACING;
                 listSize = font.getSize(list);
-                canvas.drawTextRaw(String.join("\n", list),
+                canvas.drawTextRaw(upgradesText.get(list),
                         font,
                         Color.GREEN,
                         Rect2i.createFromMinAndSize(new Vector2i(offset, 0), listSize),
@@ -134,4 +138,24 @@ public class UIComponentFields extends CoreWidget {
         showUpgrade = showBinding;
     }
 
+    /**
+     * Caches the lines of a list joined into a single string.
+     */
+    private static final class JoinedText {
+        private List<String> source;
+        private String text = "";
+
+        /**
+         * @param list The lines to join
+         * @return The lines joined with newlines, reusing the last result if the list is unchanged
+         */
+        private String get(List<String> list) {
+            if (list != source) {
+                source = list;
+                text = String.join("\n", list);
+            }
+            return text;
+        }
+    }
+
 }
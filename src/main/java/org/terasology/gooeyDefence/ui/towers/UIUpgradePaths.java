@@ -28,7 +28,7 @@ import org.terasology.rendering.nui.databinding.ReadOnlyBinding;
 import org.terasology.rendering.nui.layouts.FlowLayout;
 import org.terasology.rendering.nui.widgets.UIButton;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -42,7 +42,7 @@ import java.util.function.Consumer;
 public class UIUpgradePaths extends CoreWidget {
     private final FlowLayout upgrades = new FlowLayout();
     private Consumer<UpgradeList> listener;
-    private List<UpgradeList> upgradeLists;
+    private List<UpgradeList> upgradeLists = Collections.emptyList();
     private Binding<BlockUpgradesComponent> upgradesComponent = new DefaultBinding<>();
 
     @Override
@@ -53,8 +53,8 @@ public class UIUpgradePaths extends CoreWidget {
                 upgradeLists = newUpgrades;
                 rebuildUpgradeButtons();
             }
-        } else {
-            upgradeLists = new ArrayList<>();
+        } else if (!upgradeLists.isEmpty()) {
+            upgradeLists = Collections.emptyList();
             rebuildUpgradeButtons();
         }
         canvas.drawWidget(upgrades);
@@ -33,6 +33,8 @@ import java.util.List;
 
 /**
  * Displays the upgrades on a component and allows for application of them
+ * <p>
+ * The displayed text is cached, and only recalculated when the component or its values change.
  *
  * @see UIComponentFields
  * @see UIUpgrader
@@ -40,6 +42,7 @@ import java.util.List;
 public class UIUpgrader extends CoreWidget {
     private final UIComponentFields componentFields = new UIComponentFields();
     private final UIUpgradePaths upgradePaths = new UIUpgradePaths();
+    private final UpgraderViewModel viewModel = new UpgraderViewModel();
     private Binding<EntityRef> entity = new DefaultBinding<>(EntityRef.NULL);
     private UpgradeInfo currentUpgrade;
     private UpgradingSystem upgradingSystem;
@@ -58,19 +61,19 @@ public class UIUpgrader extends CoreWidget {
         componentFields.bindFields(new ReadOnlyBinding<List<String>>() {
             @Override
             public List<String> get() {
-                return upgradingSystem.getComponentFields(getTargetComponent());
+                return viewModel.getFields();
             }
         });
         componentFields.bindValues(new ReadOnlyBinding<List<String>>() {
             @Override
             public List<String> get() {
-                return upgradingSystem.getComponentValues(getTargetComponent());
+                return viewModel.getValues();
             }
         });
         componentFields.bindUpgrade(new ReadOnlyBinding<List<String>>() {
             @Override
             public List<String> get() {
-                return upgradingSystem.getComponentUpgrades(getTargetComponent(), currentUpgrade);
+                return viewModel.getUpgrades();
             }
         });
         componentFields.bindShowUpgrade(new ReadOnlyBinding<Boolean>() {
@@ -91,6 +94,7 @@ public class UIUpgrader extends CoreWidget {
 
     @Override
     public void onDraw(Canvas canvas) {
+        refreshViewModel();
         Vector2i canvasSize = canvas.size();
 
         Vector2i fieldsSize = canvas.calculateRestrictedSize(componentFields, canvasSize);
@@ -103,6 +107,7 @@ public class UIUpgrader extends CoreWidget {
 
     @Override
     public Vector2i getPreferredContentSize(Canvas canvas, Vector2i sizeHint) {
+        refreshViewModel();
         Vector2i fieldsSize = canvas.calculateRestrictedSize(componentFields, sizeHint);
         Vector2i pathsSize = canvas.calculateRestrictedSize(upgradePaths, sizeHint);
         return new Vector2i(Math.max(fieldsSize.x, pathsSize.x), fieldsSize.y + pathsSize.y);
@@ -133,6 +138,17 @@ public class UIUpgrader extends CoreWidget {
         }
     }
 
+    /**
+     * Brings the cached field, value and upgrade lists up to date with the component shown.
+     */
+    private void refreshViewModel() {
+        if (isEnabled()) {
+            viewModel.update(upgradingSystem, getTargetComponent(), currentUpgrade);
+        } else {
+            viewModel.clear();
+        }
+    }
+
     /**
      * @return The component to display and apply upgrades to.
      */
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.ui.towers;
+
+import org.terasology.entitySystem.Component;
+import org.terasology.gooeyDefence.upgrading.UpgradeInfo;
+import org.terasology.gooeyDefence.upgrading.UpgradingSystem;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Caches the text shown by a {@link UIUpgrader} for the selected component.
+ * <p>
+ * The lists are only recalculated when the component or upgrade shown changes,
+ * or when the {@link UpgradingSystem} reports that a component has been changed.
+ *
+ * @see UIUpgrader
+ */
+final class UpgraderViewModel {
+    private Component component;
+    private UpgradeInfo upgrade;
+    private int componentVersion;
+    private List<String> fields = Collections.emptyList();
+    private List<String> values = Collections.emptyList();
+    private List<String> upgrades = Collections.emptyList();
+
+    /**
+     * Updates the cached lists to match the given component and upgrade.
+     *
+     * @param upgradingSystem The system used to calculate the lists
+     * @param newComponent    The component being shown
+     * @param newUpgrade      The upgrade being shown, or null if there is none
+     */
+    void update(UpgradingSystem upgradingSystem, Component newComponent, UpgradeInfo newUpgrade) {
+        int newVersion = upgradingSystem.getComponentVersion();
+        boolean componentChanged = newComponent != component;
+        boolean versionChanged = newVersion != componentVersion;
+
+        if (componentChanged) {
+            fields = upgradingSystem.getComponentFields(newComponent);
+        }
+        if (componentChanged || versionChanged) {
+            values = upgradingSystem.getComponentValues(newComponent);
+        }
+        if (componentChanged || versionChanged || newUpgrade != upgrade) {
+            upgrades = upgradingSystem.getComponentUpgrades(newComponent, newUpgrade);
+        }
+
+        component = newComponent;
+        upgrade = newUpgrade;
+        componentVersion = newVersion;
+    }
+
+    /**
+     * Drops the cached lists, forcing them to be recalculated on the next update.
+     */
+    void clear() {
+        component = null;
+        upgrade = null;
+        fields = Collections.emptyList();
+        values = Collections.emptyList();
+        upgrades = Collections.emptyList();
+    }
+
+    /**
+     * @return The display names of the fields on the component
+     */
+    List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return The current values of the fields, in the same order as {@link #getFields()}
+     */
+    List<String> getValues() {
+        return values;
+    }
+
+    /**
+     * @return The upgrade values for the fields, in the same order as {@link #getFields()}
+     */
+    List<String> getUpgrades() {
+        return upgrades;
+    }
+}
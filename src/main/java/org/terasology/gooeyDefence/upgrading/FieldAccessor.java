@@ -0,0 +1,182 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.upgrading;
+
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.metadata.ComponentFieldMetadata;
+import org.terasology.reflection.metadata.FieldMetadata;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * Provides fast access to a single field of a component.
+ * <p>
+ * The method handles for the field are looked up once, and adapted to the exact primitive type of the field.
+ * This means upgrades can be applied to public fields without going through the component metadata, or boxing
+ * the current value.
+ * <p>
+ * Modules may not suppress access checks, so fields that are not public are instead read and written through
+ * the component metadata. The handles for these are adapted to the same types, so they are used in the same way.
+ *
+ * @see UpgradingSystem
+ */
+final class FieldAccessor {
+    /**
+     * Reads a field through it's metadata, typed as <code>(FieldMetadata, Object) -> Object</code>
+     */
+    private static final MethodHandle METADATA_GET;
+    /**
+     * Writes a field through it's metadata, typed as <code>(FieldMetadata, Object, Object) -> void</code>
+     */
+    private static final MethodHandle METADATA_SET;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            METADATA_GET = lookup.findVirtual(FieldMetadata.class, "getValue",
+                    MethodType.methodType(Object.class, Object.class));
+            METADATA_SET = lookup.findVirtual(FieldMetadata.class, "setValue",
+                    MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Class<?> type;
+    /**
+     * Reads the field, typed as <code>(Component) -> type</code>
+     */
+    private final MethodHandle typedGetter;
+    private final MethodHandle getter;
+    private final Upgrader upgrader;
+
+    /**
+     * @param fieldMeta The metadata of the field to access
+     * @throws IllegalAccessException If the handles for the field could not be created
+     */
+    FieldAccessor(ComponentFieldMetadata<?, ?> fieldMeta) throws IllegalAccessException {
+        Field field = fieldMeta.getField();
+        type = field.getType();
+        MethodHandle rawGetter;
+        MethodHandle rawSetter;
+        if (isPublic(field)) {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            rawGetter = lookup.unreflectGetter(field);
+            rawSetter = lookup.unreflectSetter(field);
+        } else {
+            rawGetter = METADATA_GET.bindTo(fieldMeta);
+            rawSetter = METADATA_SET.bindTo(fieldMeta);
+        }
+        typedGetter = rawGetter.asType(MethodType.methodType(type, Component.class));
+        getter = rawGetter.asType(MethodType.methodType(Object.class, Component.class));
+        upgrader = createUpgrader(typedGetter, rawSetter.asType(MethodType.methodType(void.class, Component.class, type)));
+    }
+
+    /**
+     * @return The type of the field
+     */
+    Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Gets a handle that reads the field without boxing it.
+     * The handle has the type <code>(Component) -> type</code>, where type is the type of the field.
+     *
+     * @return The handle reading the field
+     */
+    MethodHandle getTypedGetter() {
+        return typedGetter;
+    }
+
+    /**
+     * @param component The component to read from
+     * @return The value of the field, boxed if needed
+     */
+    Object getValue(Component component) {
+        try {
+            return getter.invokeExact(component);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to read field of type " + type.getSimpleName(), throwable);
+        }
+    }
+
+    /**
+     * Adds an amount onto the value of the field.
+     *
+     * @param component The component to change
+     * @param amount    The amount to add
+     */
+    void addValue(Component component, Number amount) {
+        if (upgrader == null) {
+            throw new IllegalArgumentException("Can't set field of type: "
+                    + type.getSimpleName()
+                    + ". Type must be a Number primitive");
+        }
+        try {
+            upgrader.add(component, amount);
+        } catch (Throwable throwable) {
+            throw new IllegalStateException("Unable to set field of type " + type.getSimpleName(), throwable);
+        }
+    }
+
+    /**
+     * @param field The field to check
+     * @return True if the field can be accessed without suppressing access checks
+     */
+    private static boolean isPublic(Field field) {
+        return Modifier.isPublic(field.getModifiers())
+                && Modifier.isPublic(field.getDeclaringClass().getModifiers())
+                && !Modifier.isFinal(field.getModifiers());
+    }
+
+    /**
+     * Creates the upgrader for the field, specialised to the type of the field.
+     *
+     * @param get The getter for the field, typed to the field
+     * @param set The setter for the field, typed to the field
+     * @return The upgrader, or null if the field is not a number primitive
+     */
+    private Upgrader createUpgrader(MethodHandle get, MethodHandle set) {
+        if (type == int.class) {
+            return (component, amount) -> set.invokeExact(component, (int) get.invokeExact(component) + amount.intValue());
+        } else if (type == float.class) {
+            return (component, amount) -> set.invokeExact(component, (float) get.invokeExact(component) + amount.floatValue());
+        } else if (type == double.class) {
+            return (component, amount) -> set.invokeExact(component, (double) get.invokeExact(component) + amount.doubleValue());
+        } else if (type == long.class) {
+            return (component, amount) -> set.invokeExact(component, (long) get.invokeExact(component) + amount.longValue());
+        } else if (type == short.class) {
+            return (component, amount) -> set.invokeExact(component, (short) ((short) get.invokeExact(component) + amount.shortValue()));
+        } else if (type == byte.class) {
+            return (component, amount) -> set.invokeExact(component, (byte) ((byte) get.invokeExact(component) + amount.byteValue()));
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * Adds an amount onto a field, without boxing the value of the field.
+     */
+    @FunctionalInterface
+    private interface Upgrader {
+        void add(Component component, Number amount) throws Throwable;
+    }
+}
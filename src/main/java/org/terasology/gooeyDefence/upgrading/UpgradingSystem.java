@@ -39,11 +39,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
  * Handles both applying an upgrade to a component and
  * parsing components and upgrades for UI.
+ * <p>
+ * The accessors for each component field, and the parser methods for each field, are looked up once and cached.
  *
  * @see BlockUpgradesComponent
  * @see BaseParser
@@ -59,6 +62,20 @@ public class UpgradingSystem extends BaseComponentSystem {
     private ClassMetaLibrary classMetaLibrary;
     private ComponentLibrary componentLibrary;
     private final Map<Class, BaseParser> parserMap = new HashMap<>();
+    /**
+     * The accessors for each field, by component class and then field name
+     */
+    private final Map<Class<?>, Map<String, FieldAccessor>> fieldAccessors = new HashMap<>();
+    /**
+     * The method on each parser used to convert each field, by parser class and then field name.
+     * Empty if the parser has no method for that field.
+     */
+    private final Map<Class<?>, Map<String, Optional<ParserHandles>>> parserHandles = new HashMap<>();
+    /**
+     * Incremented whenever an upgradable component is changed.
+     * Used by the UI to tell when the displayed values need to be recalculated.
+     */
+    private int componentVersion;
 
     @Override
     public void postBegin() {
@@ -88,13 +105,66 @@ public class UpgradingSystem extends BaseComponentSystem {
         if (component == null || upgrade == null) {
             return;
         }
-        ComponentMetadata<? extends Component> componentMeta = componentLibrary.getMetadata(component);
-
         /* Apply upgrade for each field */
         for (Map.Entry<String, Number> entry : upgrade.values.entrySet()) {
-            ComponentFieldMetadata<?, ?> fieldMeta = componentMeta.getField(entry.getKey());
-            setField(fieldMeta, component, entry.getValue());
+            getFieldAccessor(component, entry.getKey()).addValue(component, entry.getValue());
         }
+        markComponentChanged(component);
+    }
+
+    /**
+     * Notes that a component has been changed outside of an upgrade, so any displayed values are out of date.
+     *
+     * @param component The component that was changed
+     */
+    public void markComponentChanged(Component component) {
+        componentVersion++;
+    }
+
+    /**
+     * @return A value that changes every time an upgradable component is changed.
+     * @see #markComponentChanged(Component)
+     */
+    public int getComponentVersion() {
+        return componentVersion;
+    }
+
+    /**
+     * Gets the accessor for a field on a component, creating it if needed.
+     *
+     * @param component The component the field is on
+     * @param fieldName The name of the field
+     * @return The accessor for that field
+     */
+    private FieldAccessor getFieldAccessor(Component component, String fieldName) {
+        Map<String, FieldAccessor> accessors = fieldAccessors.computeIfAbsent(component.getClass(), key -> new HashMap<>());
+        FieldAccessor accessor = accessors.get(fieldName);
+        if (accessor == null) {
+            ComponentFieldMetadata<?, ?> fieldMeta = componentLibrary.getMetadata(component).getField(fieldName);
+            if (fieldMeta == null) {
+                throw new IllegalArgumentException("Cannot upgrade field " + fieldName
+                        + " as it does not exist on " + component.getClass().getSimpleName());
+            }
+            try {
+                accessor = new FieldAccessor(fieldMeta);
+            } catch (IllegalAccessException e) {
+                throw new IllegalArgumentException("Cannot access field " + fieldName
+                        + " on " + component.getClass().getSimpleName(), e);
+            }
+            accessors.put(fieldName, accessor);
+        }
+        return accessor;
+    }
+
+    /**
+     * Gets the parser for a component, or the default parser if it has none.
+     *
+     * @param component The component to parse
+     * @return The parser for that component
+     */
+    private BaseParser getParser(Component component) {
+        BaseParser parser = parserMap.get(component.getClass());
+        return parser != null ? parser : new DefaultParser(component);
     }
 
     /**
@@ -124,42 +194,6 @@ public class UpgradingSystem extends BaseComponentSystem {
         return component;
     }
 
-    /**
-     * Sets a Number field to the given value.
-     * Requires the field to be of a primitive number type.
-     *
-     * @param field     The field to set
-     * @param component The component containing the field to set
-     * @param value     The value to set the field to
-     */
-    private void setField(ComponentFieldMetadata field, Component component, Number value) {
-        switch (field.getType().getSimpleName()) {
-            case "int":
-                field.setValue(component, (int) field.getValue(component) + value.intValue());
-                break;
-            case "double":
-                field.setValue(component, (double) field.getValue(component) + value.doubleValue());
-                break;
-            case "float":
-                field.setValue(component, (float) field.getValue(component) + value.floatValue());
-                break;
-            case "long":
-                field.setValue(component, (long) field.getValue(component) + value.longValue());
-                break;
-            case "short":
-                field.setValue(component, (short) field.getValue(component) + value.shortValue());
-                break;
-            case "byte":
-                field.setValue(component, (byte) field.getValue(component) + value.byteValue());
-                break;
-            default:
-                throw new IllegalArgumentException("Can't set field of type: "
-                        + field.getField().getGenericType().getTypeName()
-                        + ". Type must be a Number primitive");
-        }
-    }
-
-
     /**
      * @inheritDoc
      */
@@ -180,7 +214,7 @@ public class UpgradingSystem extends BaseComponentSystem {
         if (component == null) {
             return Collections.emptyList();
         }
-        BaseParser parser = parserMap.getOrDefault(component.getClass(), new DefaultParser(component));
+        BaseParser parser = getParser(component);
         Map<String, String> fieldMap = parser.getFields();
         List<String> keys = fieldMap.keySet().stream().sorted().collect(Collectors.toList());
         if (formatted) {
@@ -207,18 +241,11 @@ public class UpgradingSystem extends BaseComponentSystem {
 
         List<String> fields = getComponentFields(component, false);
         List<String> values = new ArrayList<>(fields.size());
-        ComponentMetadata<T> metadata = componentLibrary.getMetadata(component);
-        BaseParser parser = parserMap.getOrDefault(component.getClass(), new DefaultParser(component));
+        BaseParser parser = getParser(component);
 
         for (String field : fields) {
-            ComponentFieldMetadata<T, ?> fieldMetadata = metadata.getField(field);
-            values.add(
-                    tryParseValue(
-                            parser,
-                            fieldMetadata.getValue(component),
-                            field,
-                            fieldMetadata.getType(),
-                            false));
+            FieldAccessor accessor = getFieldAccessor(component, field);
+            values.add(tryParseValue(parser, component, field, accessor));
         }
 
         return values;
@@ -246,21 +273,14 @@ public class UpgradingSystem extends BaseComponentSystem {
             return Collections.nCopies(fields.size(), "");
         }
 
-        ComponentMetadata<T> metadata = componentLibrary.getMetadata(component);
-        BaseParser parser = parserMap.getOrDefault(component.getClass(), new DefaultParser(component));
+        BaseParser parser = getParser(component);
         for (String field : fields) {
-            ComponentFieldMetadata<T, ?> fieldMetadata = metadata.getField(field);
+            FieldAccessor accessor = getFieldAccessor(component, field);
             Number upgradeValue = upgradeInfo.values.getOrDefault(field, null);
             if (upgradeValue == null) {
                 upgrades.add("");
             } else {
-                upgrades.add(
-                        tryParseValue(
-                                parser,
-                                upgradeValue,
-                                field,
-                                fieldMetadata.getType(),
-                                true));
+                upgrades.add(tryParseUpgrade(parser, upgradeValue, field, accessor));
             }
         }
 
@@ -268,7 +288,7 @@ public class UpgradingSystem extends BaseComponentSystem {
     }
 
     /**
-     * Attempts to parse a value into a human readable format.
+     * Attempts to parse the value of a field into a human readable format.
      * <p>
      * First tries to call a method on the parser with the following properties:
      * <p>
@@ -277,68 +297,63 @@ public class UpgradingSystem extends BaseComponentSystem {
      * 3. First parameter is a boolean
      * 4. Second parameter is the same type as the field.
      * <p>
-     * If it cannot find an appropriate method, it will instead use the
-     * {@link BaseParser#handleUpgrade(String, Object)} or {@link BaseParser#handleField(String, Object)} methods.
-     * By default these simply call {@code String.valueOf()} on the value.
+     * If it cannot find an appropriate method, it will instead use the {@link BaseParser#handleField(String, Object)}
+     * method. By default this simply calls {@code String.valueOf()} on the value.
+     * <p>
+     * The parser method is called with the field read straight from the component, so the value is never boxed.
      *
      * @param parser    The parser to use
-     * @param value     The value to convert
+     * @param component The component to read the value from
      * @param fieldName The name of the field being converted
-     * @param fieldType The type of the field being converted
-     * @param isUpgrade True if the value is an upgrade value, false otherwise
+     * @param accessor  The accessor for the field
      * @return The human readable version of the value
      */
-    private String tryParseValue(BaseParser parser, Object value, String fieldName, Class<?> fieldType, boolean isUpgrade) {
-        MethodHandle method = getHandleForMethod(parser, fieldName, fieldType);
-        if (method == null) {
-            return parseWithBackup(parser, fieldName, value, isUpgrade);
-        } else {
+    private String tryParseValue(BaseParser parser, Component component, String fieldName, FieldAccessor accessor) {
+        Optional<ParserHandles> handles = getParserHandles(parser, fieldName, accessor);
+        if (handles.isPresent()) {
             try {
-                return method.invoke(isUpgrade, convertToType(value, fieldType)).toString();
+                return (String) handles.get().forField.invokeExact(parser, false, component);
             } catch (Throwable throwable) {
-                logger.error(String.format("Unable to call method for %s on %s. It threw %s", fieldName, parser.getClass().getSimpleName(), throwable.toString()));
-                return parseWithBackup(parser, fieldName, value, isUpgrade);
+                logParserFailure(parser, fieldName, throwable);
             }
         }
+        return parseWithBackup(parser, fieldName, accessor.getValue(component), false);
     }
 
     /**
-     * Converts the value into the given type.
-     * The value may not be of a the correct type to be cast. Eg, float's may be passed as doubles.
-     * The value returned should be a primitive if possible.
+     * Attempts to parse an upgrade value into a human readable format.
+     * <p>
+     * Uses the same parser method as {@link #tryParseValue(BaseParser, Component, String, FieldAccessor)},
+     * falling back to {@link BaseParser#handleUpgrade(String, Object)}.
+     * The de-serialiser does not keep the type of upgrade values, so they are narrowed to the type of the field first.
      *
-     * @param value The value to convert
-     * @param type  The type to convert it to
-     * @return The value, converted to the given type.
+     * @param parser    The parser to use
+     * @param value     The upgrade value to convert
+     * @param fieldName The name of the field being converted
+     * @param accessor  The accessor for the field
+     * @return The human readable version of the value
      */
-    private Object convertToType(Object value, Class<?> type) {
-        /* Handle the type being an enum. Can't do this through the switch */
-        if (Enum.class.isAssignableFrom(type)) {
-            //noinspection unchecked
-            return Enum.valueOf((Class<? extends Enum>) type, value.toString());
-        }
-        /* The boxing via String.valueOf() is because the de-serialiser /really/ likes mixing up types oddly. */
-        switch (type.getSimpleName()) {
-            case "int":
-                return Double.valueOf(String.valueOf(value)).intValue();
-            case "float":
-                return Double.valueOf(String.valueOf(value)).floatValue();
-            case "long":
-                return Double.valueOf(String.valueOf(value)).longValue();
-            case "double":
-                //noinspection UnnecessaryUnboxing
-                return Double.valueOf(String.valueOf(value)).doubleValue();
-            case "short":
-                return Double.valueOf(String.valueOf(value)).shortValue();
-            case "byte":
-                return Double.valueOf(String.valueOf(value)).byteValue();
-            case "String":
-                return String.valueOf(value);
-            default:
-                throw new IllegalArgumentException("Cannot convert " + value + " as it is of the type " + type.getSimpleName());
+    private String tryParseUpgrade(BaseParser parser, Number value, String fieldName, FieldAccessor accessor) {
+        Optional<ParserHandles> handles = getParserHandles(parser, fieldName, accessor);
+        if (handles.isPresent() && handles.get().forUpgrade != null) {
+            try {
+                return (String) handles.get().forUpgrade.invokeExact(parser, true, value);
+            } catch (Throwable throwable) {
+                logParserFailure(parser, fieldName, throwable);
+            }
         }
+        return parseWithBackup(parser, fieldName, value, true);
     }
 
+    /**
+     * @param parser    The parser whose method failed
+     * @param fieldName The field being converted
+     * @param throwable What the method threw
+     */
+    private void logParserFailure(BaseParser parser, String fieldName, Throwable throwable) {
+        logger.error(String.format("Unable to call method for %s on %s. It threw %s",
+                fieldName, parser.getClass().getSimpleName(), throwable.toString()));
+    }
 
     /**
      * The backup parser. Calls either of
@@ -360,24 +375,60 @@ public class UpgradingSystem extends BaseComponentSystem {
     }
 
     /**
-     * Gets the method handler to call on the parser in order to convert the value.
+     * Gets the method handles to call on the parser in order to convert the values of a field.
+     * The handles are not bound to the parser, so the parser must be passed as the first argument.
+     * <p>
+     * Each lookup is only performed once per parser class and field.
      *
-     * @param parser    The parser to search on
-     * @param name      The name of the field
-     * @param parameter The type of the value to convert
-     * @return The method handler if there is one, null otherwise.
+     * @param parser   The parser to search on
+     * @param name     The name of the field
+     * @param accessor The accessor for the field
+     * @return The method handles if the parser has a method for the field, empty otherwise.
      */
-    private MethodHandle getHandleForMethod(BaseParser parser, String name, Class<?> parameter) {
-        MethodType methodType = MethodType.methodType(String.class, boolean.class, parameter);
-        MethodHandles.Lookup lookup = MethodHandles.lookup();
-        try {
-            return lookup.bind(parser, name, methodType);
-        } catch (NoSuchMethodException | IllegalAccessException ignored) {
-            /* We don't do anything. Instead we will try the default parser. */
-            return null;
-        }
+    private Optional<ParserHandles> getParserHandles(BaseParser parser, String name, FieldAccessor accessor) {
+        Map<String, Optional<ParserHandles>> handles = parserHandles.computeIfAbsent(parser.getClass(), key -> new HashMap<>());
+        return handles.computeIfAbsent(name, key -> {
+            Class<?> type = accessor.getType();
+            MethodType methodType = MethodType.methodType(String.class, boolean.class, type);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            try {
+                MethodHandle method = lookup.findVirtual(parser.getClass(), name, methodType)
+                        .asType(MethodType.methodType(String.class, BaseParser.class, boolean.class, type));
+                MethodHandle forField = MethodHandles.filterArguments(method, 2, accessor.getTypedGetter());
+                MethodHandle forUpgrade = null;
+                if (type.isPrimitive() && type != boolean.class && type != char.class) {
+                    MethodHandle narrow = MethodHandles.publicLookup()
+                            .findVirtual(Number.class, type.getName() + "Value", MethodType.methodType(type));
+                    forUpgrade = MethodHandles.filterArguments(method, 2, narrow);
+                }
+                return Optional.of(new ParserHandles(forField, forUpgrade));
+            } catch (NoSuchMethodException | IllegalAccessException ignored) {
+                /* We don't do anything. Instead we will try the default parser. */
+                return Optional.empty();
+            }
+        });
     }
 
+    /**
+     * The parser method for a field, adapted to take the values as they are stored.
+     */
+    private static final class ParserHandles {
+        /**
+         * Reads the field from the component and converts it.
+         * Typed as <code>(BaseParser, boolean, Component) -> String</code>
+         */
+        private final MethodHandle forField;
+        /**
+         * Narrows an upgrade value to the type of the field and converts it.
+         * Typed as <code>(BaseParser, boolean, Number) -> String</code>, or null if the field is not a number.
+         */
+        private final MethodHandle forUpgrade;
+
+        private ParserHandles(MethodHandle forField, MethodHandle forUpgrade) {
+            this.forField = forField;
+            this.forUpgrade = forUpgrade;
+        }
+    }
 
     /**
      * A default implementation of the parsers.
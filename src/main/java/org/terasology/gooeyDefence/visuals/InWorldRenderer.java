@@ -27,14 +27,16 @@ import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.RenderSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.DefenceUris;
 import org.terasology.gooeyDefence.components.ShrineComponent;
 import org.terasology.gooeyDefence.events.OnEntrancePathCalculated;
 import org.terasology.gooeyDefence.health.events.DamageEntityEvent;
 import org.terasology.gooeyDefence.health.events.EntityDeathEvent;
-import org.terasology.gooeyDefence.movement.PathfindingManager;
 import org.terasology.gooeyDefence.movement.components.MovementComponent;
 import org.terasology.gooeyDefence.movement.events.ReachedGoalEvent;
+import org.terasology.gooeyDefence.profiling.ProfilingSystem;
+import org.terasology.gooeyDefence.profiling.SystemTimer;
 import org.terasology.gooeyDefence.towers.components.TowerTargeter;
 import org.terasology.gooeyDefence.visuals.components.ChildrenParticleComponent;
 import org.terasology.gooeyDefence.visuals.components.PathBlockComponent;
@@ -45,6 +47,7 @@ import org.terasology.logic.location.LocationComponent;
 import org.terasology.logic.players.PlayerTargetChangedEvent;
 import org.terasology.math.geom.Vector3f;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.particles.components.ParticleEmitterComponent;
 import org.terasology.particles.components.generators.VelocityRangeGeneratorComponent;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
@@ -52,7 +55,10 @@ import org.terasology.rendering.logic.MeshComponent;
 import org.terasology.rendering.world.selection.BlockSelectionRenderer;
 import org.terasology.utilities.Assets;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -71,20 +77,46 @@ public class InWorldRenderer extends BaseComponentSystem implements RenderSystem
      * This position is below ground
      */
     private static final Vector3f OUT_OF_SIGHT = new Vector3f(0, -3, 0);
+    /**
+     * The most unused path emitters to keep around for reuse.
+     * Any more than this are destroyed.
+     */
+    private static final int MAX_POOLED_EMITTERS = 128;
     private final Map<EntityRef, SphereInfo> expandingSpheres = new HashMap<>();
     private final Map<EntityRef, EntityRef> bullets = new HashMap<>();
+    /**
+     * The remaining time to show the damage effect for on each field's shrine.
+     */
+    private final Map<DefenceField, Integer> shrineDamaged = new HashMap<>();
+    /**
+     * The emitters displaying each entrance path, by field and then entrance, keyed by the block they are on.
+     */
+    private final Map<DefenceField, Map<Integer, Map<Vector3i, PathEmitter>>> pathEmitters = new HashMap<>();
+    /**
+     * Path emitters no longer in use, moved out of sight until they are needed again.
+     */
+    private final Deque<EntityRef> emitterPool = new ArrayDeque<>();
     private BlockSelectionRenderer shrineDamageRenderer;
     @In
     private Time time;
     @In
-    private PathfindingManager pathfindingManager;
-    @In
     private EntityManager entityManager;
-    private int shrineDamaged;
+    @In
+    private ProfilingSystem profilingSystem;
+    @In
+    private DefenceFieldManager fieldManager;
+    private SystemTimer updateTimer;
+    private SystemTimer pathTimer;
+    /**
+     * The number of emitters reused whilst handling the current path change
+     */
+    private int emittersReused;
     private EntityRef rangeSphere;
 
     @Override
     public void initialise() {
+        updateTimer = profilingSystem.getTimer("InWorldRenderer.update");
+        pathTimer = profilingSystem.getTimer("InWorldRenderer.onEntrancePathChanged");
     }
 
     @Override
@@ -110,38 +142,126 @@ public class InWorldRenderer extends BaseComponentSystem implements RenderSystem
      */
     @ReceiveEvent(components = ShrineComponent.class)
     public void onDamageShrine(DamageEntityEvent event, EntityRef entity) {
-        shrineDamaged = 100;
+        shrineDamaged.put(fieldManager.getFieldFor(entity), 100);
     }
 
     /**
      * Called whenever an entrance path is changed.
-     * Used to re-create the path display entities.
+     * Used to update the path display entities for that entrance.
+     * <p>
+     * Only the blocks that differ between the old and the new path are changed.
+     * Emitters on blocks no longer in the path are returned to the pool, and reused for new blocks.
      *
      * @see OnEntrancePathCalculated
      */
     @ReceiveEvent
     public void onEntrancePathChanged(OnEntrancePathCalculated event, EntityRef entity) {
-        clearPathParticles();
-        List<List<Vector3i>> paths = pathfindingManager.getPaths();
-        for (List<Vector3i> path : paths) {
-            if (path != null) {
-                for (int i = path.size() - 1; i >= 2; i--) {
-                    EntityRef pathBlock = entityManager.create(DefenceUris.PATH_EFFECT, path.get(i).toVector3f());
-
-                    VelocityRangeGeneratorComponent component = pathBlock.getComponent(VelocityRangeGeneratorComponent.class);
+        long start = pathTimer.start();
+        emittersReused = 0;
+        Map<Integer, Map<Vector3i, PathEmitter>> fieldEmitters =
+                pathEmitters.computeIfAbsent(event.getField(), key -> new HashMap<>());
+        Map<Vector3i, PathEmitter> oldEmitters = fieldEmitters.getOrDefault(event.getPathId(), new HashMap<>());
+        Map<Vector3i, PathEmitter> newEmitters = new HashMap<>();
+
+        List<Vector3i> path = event.getNewPath();
+        if (path != null) {
+            for (int i = path.size() - 1; i >= 2; i--) {
+                Vector3i pos = path.get(i);
+                Vector3i direction = new Vector3i(path.get(i - 1)).sub(pos);
+
+                PathEmitter emitter = oldEmitters.remove(pos);
+                if (emitter == null) {
+                    emitter = new PathEmitter(takeEmitter(pos));
+                } else {
+                    emittersReused++;
+                }
+                if (!direction.equals(emitter.direction)) {
+                    setEmitterDirection(emitter.entity, direction);
+                    emitter.direction = direction;
+                }
+                newEmitters.put(pos, emitter);
+            }
+        }
+        for (PathEmitter emitter : oldEmitters.values()) {
+            releaseEmitter(emitter.entity);
+        }
+        fieldEmitters.put(event.getPathId(), newEmitters);
+        pathTimer.addAllocationsAvoided(emittersReused);
+        pathTimer.stop(start);
+    }
 
-                    component.minVelocity = Vector3f.one().scale(-0.5f);
-                    component.maxVelocity = Vector3f.one().scale(0.5f);
+    /**
+     * Gets an emitter to display a path block, reusing one from the pool if possible.
+     *
+     * @param pos The position of the block
+     * @return An emitter at that position
+     */
+    private EntityRef takeEmitter(Vector3i pos) {
+        EntityRef emitter = emitterPool.poll();
+        while (emitter != null && !emitter.exists()) {
+            emitter = emitterPool.poll();
+        }
+        if (emitter == null) {
+            return entityManager.create(DefenceUris.PATH_EFFECT, pos.toVector3f());
+        }
+        emittersReused++;
+        LocationComponent locationComponent = emitter.getComponent(LocationComponent.class);
+        locationComponent.setWorldPosition(pos.toVector3f());
+        emitter.saveComponent(locationComponent);
+        setEmitterEnabled(emitter, true);
+        return emitter;
+    }
 
-                    Vector3f delta = path.get(i - 1).toVector3f().sub(path.get(i).toVector3f());
-                    component.minVelocity.add(delta);
-                    component.maxVelocity.add(delta);
+    /**
+     * Returns an emitter to the pool, moving it out of sight and stopping it from emitting.
+     * If the pool is full, the emitter is destroyed instead.
+     *
+     * @param emitter The emitter no longer needed
+     */
+    private void releaseEmitter(EntityRef emitter) {
+        if (emitterPool.size() >= MAX_POOLED_EMITTERS) {
+            emitter.destroy();
+        } else if (emitter.exists()) {
+            LocationComponent locationComponent = emitter.getComponent(LocationComponent.class);
+            locationComponent.setWorldPosition(OUT_OF_SIGHT);
+            emitter.saveComponent(locationComponent);
+            setEmitterEnabled(emitter, false);
+            emitterPool.push(emitter);
+        }
+    }
 
-                }
-            }
+    /**
+     * Starts or stops an emitter from spawning particles.
+     *
+     * @param emitter The emitter to change
+     * @param enabled True if the emitter should spawn particles
+     */
+    private void setEmitterEnabled(EntityRef emitter, boolean enabled) {
+        ParticleEmitterComponent component = emitter.getComponent(ParticleEmitterComponent.class);
+        if (component != null && component.enabled != enabled) {
+            component.enabled = enabled;
+            emitter.saveComponent(component);
         }
     }
 
+    /**
+     * Points the particles of an emitter towards the next block of the path.
+     *
+     * @param emitter   The emitter to change
+     * @param direction The offset to the next block
+     */
+    private void setEmitterDirection(EntityRef emitter, Vector3i direction) {
+        VelocityRangeGeneratorComponent component = emitter.getComponent(VelocityRangeGeneratorComponent.class);
+
+        component.minVelocity = Vector3f.one().scale(-0.5f);
+        component.maxVelocity = Vector3f.one().scale(0.5f);
+
+        Vector3f delta = direction.toVector3f();
+        component.minVelocity.add(delta);
+        component.maxVelocity.add(delta);
+        emitter.saveComponent(component);
+    }
+
     /**
      * Called when the block or entity being targeted by the player changes.
      * Used to render the range visuals for targeters
@@ -175,14 +295,22 @@ public class InWorldRenderer extends BaseComponentSystem implements RenderSystem
         }
     }
 
+
     @Override
     public void renderAlphaBlend() {
         shrineDamageRenderer.beginRenderOverlay();
-        if (shrineDamaged > 0) {
-            shrineDamaged -= time.getGameDeltaInMs();
-            for (Vector3i pos : DefenceField.shrineData) {
+        Iterator<Map.Entry<DefenceField, Integer>> iterator = shrineDamaged.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<DefenceField, Integer> entry = iterator.next();
+            for (Vector3i pos : entry.getKey().getShrineData()) {
                 shrineDamageRenderer.renderMark2(pos);
             }
+            int remaining = entry.getValue() - time.getGameDeltaInMs();
+            if (remaining > 0) {
+                entry.setValue(remaining);
+            } else {
+                iterator.remove();
+            }
         }
         shrineDamageRenderer.endRenderOverlay();
     }
@@ -240,10 +368,19 @@ public class InWorldRenderer extends BaseComponentSystem implements RenderSystem
         expandingSpheres.put(sphere, info);
     }
 
+    /**
+     * @return The number of bullets currently in flight
+     */
+    public int getBulletCount() {
+        return bullets.size();
+    }
+
     @Override
     public void update(float delta) {
+        long start = updateTimer.start();
         updateSpheres(delta);
         updateBullets();
+        updateTimer.stop(start);
     }
 
     /**
@@ -448,4 +585,19 @@ public class InWorldRenderer extends BaseComponentSystem implements RenderSystem
          */
         private float expansion;
     }
+
+    /**
+     * An emitter displaying a single block of a path.
+     */
+    private class PathEmitter {
+        private final EntityRef entity;
+        /**
+         * The offset to the next block in the path. Null until first set
+         */
+        private Vector3i direction;
+
+        private PathEmitter(EntityRef entity) {
+            this.entity = entity;
+        }
+    }
 }
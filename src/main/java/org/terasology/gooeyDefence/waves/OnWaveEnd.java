@@ -24,4 +24,16 @@ import org.terasology.gooeyDefence.DefenceField;
  * Sent against the {@link DefenceField#getShrineEntity() Shrine Entity}
  */
 public class OnWaveEnd implements Event {
+    private final DefenceField field;
+
+    public OnWaveEnd(DefenceField field) {
+        this.field = field;
+    }
+
+    /**
+     * @return The field the wave ended in
+     */
+    public DefenceField getField() {
+        return field;
+    }
 }
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.waves;
+
+import org.terasology.utilities.random.FastRandom;
+import org.terasology.utilities.random.Random;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Procedurally creates waves from a table of enemy costs and a difficulty budget.
+ * <p>
+ * The budget grows linearly with the wave number and is split evenly between the entrances.
+ * Each entrance then buys random enemies it can afford until the budget is spent.
+ * Generation is seeded by the wave number, so a given wave is always the same.
+ * <p>
+ * Generated waves are cached, and so must be copied before being modified.
+ *
+ * @see WaveGeneratorComponent
+ * @see WaveManager
+ */
+public class WaveGenerator {
+    /**
+     * Mixed with the wave number to seed the generation of each wave.
+     */
+    private static final long SEED_MIX = 0x9E3779B97F4A7C15L;
+
+    private final WaveGeneratorComponent config;
+    private final int entranceCount;
+    /**
+     * The enemy prefabs, sorted by ascending cost.
+     */
+    private final String[] prefabs;
+    /**
+     * The cost of each enemy in {@link #prefabs}.
+     */
+    private final int[] costs;
+    /**
+     * The most recently generated waves, by wave number.
+     */
+    private final Map<Integer, WaveInfo> cache;
+    /**
+     * The first wave to always generate, or negative if endless mode is off.
+     * Starts from the config, but can be changed at runtime.
+     */
+    private int endlessFrom;
+
+    /**
+     * Creates a new generator for the given config.
+     *
+     * @param config        The generation settings to use
+     * @param entranceCount The number of entrances to generate spawns for
+     */
+    public WaveGenerator(WaveGeneratorComponent config, int entranceCount) {
+        this.config = config;
+        this.entranceCount = entranceCount;
+        this.endlessFrom = config.endlessFrom;
+
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>(config.enemyCosts.entrySet());
+        entries.removeIf(entry -> entry.getValue() == null || entry.getValue() <= 0);
+        entries.sort(Comparator.comparingInt(Map.Entry::getValue));
+        prefabs = new String[entries.size()];
+        costs = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            prefabs[i] = entries.get(i).getKey();
+            costs[i] = entries.get(i).getValue();
+        }
+
+        int cacheSize = Math.max(1, config.cacheSize);
+        cache = new LinkedHashMap<Integer, WaveInfo>(cacheSize + 1, 1f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, WaveInfo> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * @param waveNum The wave number to check
+     * @return True if the wave should always be generated, rather than taken from the hand written waves.
+     */
+    public boolean isEndless(int waveNum) {
+        return endlessFrom >= 0 && waveNum >= endlessFrom;
+    }
+
+    /**
+     * Sets the first wave to always generate.
+     *
+     * @param endlessFrom The first generated wave, or a negative value to use the hand written waves again
+     */
+    public void setEndlessFrom(int endlessFrom) {
+        this.endlessFrom = endlessFrom;
+    }
+
+    /**
+     * Gets the generated wave for a given wave number.
+     * The returned wave is shared, so it must be copied before being used to spawn.
+     *
+     * @param waveNum The wave number to generate for
+     * @return The generated wave
+     */
+    public WaveInfo getWave(int waveNum) {
+        return cache.computeIfAbsent(waveNum, this::generate);
+    }
+
+    /**
+     * Gets the difficulty budget for the whole wave.
+     *
+     * @param waveNum The wave to get the budget for
+     * @return The total budget, shared between all entrances
+     */
+    public long getBudget(int waveNum) {
+        return config.baseBudget + (long) config.budgetPerWave * Math.max(0, waveNum);
+    }
+
+    /**
+     * Gets the delay between spawns for the given wave.
+     *
+     * @param waveNum The wave to get the delay for
+     * @return The delay in seconds.
+     */
+    public float getDelay(int waveNum) {
+        float delay = config.baseDelay / (1 + Math.max(0, waveNum) * config.delayDecay);
+        return Math.max(config.minimumDelay, delay);
+    }
+
+    /**
+     * Synthesises a new wave.
+     *
+     * @param waveNum The wave number to generate for
+     * @return The new wave info
+     */
+    private WaveInfo generate(int waveNum) {
+        WaveInfo result = new WaveInfo();
+        Random random = new FastRandom(SEED_MIX * (waveNum + 1));
+        long entranceBudget = getBudget(waveNum) / Math.max(1, entranceCount);
+        float delay = getDelay(waveNum);
+
+        for (int i = 0; i < entranceCount; i++) {
+            EntranceInfo info = new EntranceInfo();
+            long budget = entranceBudget;
+            int affordable = countAffordable(budget);
+            while (affordable > 0) {
+                int choice = random.nextInt(affordable);
+                info.prefabs.add(prefabs[choice]);
+                info.delays.add(delay);
+                budget -= costs[choice];
+                affordable = countAffordable(budget);
+            }
+            result.entranceInfos.add(info);
+        }
+        return result;
+    }
+
+    /**
+     * Counts how many enemy types can be bought with the budget.
+     * As the costs are sorted, these are always the first entries.
+     *
+     * @param budget The remaining budget
+     * @return The number of enemy types with a cost less than or equal to the budget
+     */
+    private int countAffordable(long budget) {
+        if (budget > Integer.MAX_VALUE) {
+            return costs.length;
+        }
+        int index = Arrays.binarySearch(costs, (int) budget);
+        if (index < 0) {
+            return -index - 1;
+        }
+        /* Step past any equal costs, as the binary search may land on any of them */
+        while (index < costs.length && costs[index] <= budget) {
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2018 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.gooeyDefence.waves;
+
+import org.terasology.entitySystem.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configures the procedural generation of waves.
+ * Generated waves are used from {@link #endlessFrom} onwards, or when no hand written wave is valid.
+ * The hand written waves have no upper bound, so by default generated waves are only used through this setting
+ * or the <code>defenceEndless</code> command.
+ *
+ * @see WaveGenerator
+ * @see WaveManager
+ */
+public class WaveGeneratorComponent implements Component {
+    /**
+     * A mapping between an enemy prefab and how much of the budget it costs to spawn.
+     * Every cost must be greater than zero.
+     */
+    public Map<String, Integer> enemyCosts = new HashMap<>();
+    /**
+     * The difficulty budget available on the first wave.
+     * This is shared between all the entrances.
+     */
+    public int baseBudget = 60;
+    /**
+     * How much the difficulty budget grows by each wave.
+     */
+    public int budgetPerWave = 20;
+    /**
+     * The delay between each spawn on the first wave.
+     * Given in seconds
+     */
+    public float baseDelay = 0.5f;
+    /**
+     * How much faster the spawns get each wave.
+     * The delay is given by <code>baseDelay / (1 + wave * delayDecay)</code>
+     */
+    public float delayDecay = 0.05f;
+    /**
+     * The shortest possible delay between spawns.
+     * Given in seconds
+     */
+    public float minimumDelay = 0.05f;
+    /**
+     * The first wave to always use generated waves for.
+     * A negative value means generated waves are only used when no hand written waves are valid.
+     * Set this to enable endless mode, for example for endless or stress test runs.
+     */
+    public int endlessFrom = -1;
+    /**
+     * How many generated waves to keep cached.
+     */
+    public int cacheSize = 8;
+}
@@ -21,9 +21,13 @@ import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.DefenceUris;
 import org.terasology.gooeyDefence.EnemyManager;
 import org.terasology.gooeyDefence.StatSystem;
+import org.terasology.logic.console.commandSystem.annotations.Command;
+import org.terasology.logic.console.commandSystem.annotations.CommandParam;
+import org.terasology.logic.permission.PermissionManager;
 import org.terasology.registry.In;
 import org.terasology.registry.Share;
 import org.terasology.utilities.Assets;
@@ -31,8 +35,10 @@ import org.terasology.utilities.random.FastRandom;
 import org.terasology.utilities.random.Random;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -40,6 +46,8 @@ import java.util.TreeMap;
 /**
  * Handles spawning in each wave.
  * Information for each wave is stored in a special ADT.
+ * <p>
+ * Each field progresses through the waves independently.
  *
  * @see WaveInfo
  */
@@ -53,61 +61,66 @@ public class WaveManager extends BaseComponentSystem implements UpdateSubscriber
     private final SortedMap<Integer, Set<WaveInfo>> waveInfos = new TreeMap<>(Integer::compareTo);
     private final Random random = new FastRandom();
     /**
-     * Flag used to indicate that an attack is underway
+     * The wave state of each field
      */
-    private boolean isAttackUnderway;
+    private final Map<DefenceField, WaveState> states = new HashMap<>();
     /**
-     * A list of the time until another enemy will be spawned at each entrance
+     * Creates waves for endless play, or when no hand written wave is valid.
      */
-    private float[] spawnDelays = {};
-    /**
-     * All the valid Wave Info's, according to the most recent calculation
-     */
-    private List<WaveInfo> validInfos = new ArrayList<>();
-    /**
-     * The current wave that is being spawned, or is about to be spawned.
-     */
-    private WaveInfo currentWave;
-    private float remainingDuration;
+    private WaveGenerator waveGenerator;
     @In
     private EnemyManager enemyManager;
     @In
     private StatSystem statSystem;
+    @In
+    private DefenceFieldManager fieldManager;
 
     @Override
     public void preBegin() {
         Prefab config = Assets.getPrefab(DefenceUris.WAVES_CONFIG)
                 .orElseThrow(() -> new IllegalStateException("No wave config found"));
         stripFromComponent(config.getComponent(WaveDefinitionComponent.class));
+        WaveGeneratorComponent generatorConfig = config.getComponent(WaveGeneratorComponent.class);
+        waveGenerator = new WaveGenerator(
+                generatorConfig != null ? generatorConfig : new WaveGeneratorComponent(),
+                fieldManager.getFieldConfig().entranceCount);
 
-        generateWave(statSystem.getWaveNumber());
+        for (DefenceField field : fieldManager.getFields()) {
+            generateWave(field, statSystem.getWaveNumber(field));
+        }
     }
 
     @Override
     public void update(float delta) {
-        if (isAttackUnderway) {
-            boolean allFinished = true;
-            int entranceNum = 0;
-            for (EntranceInfo info : currentWave.entranceInfos) {
-                allFinished &= !spawnAtEntrance(info, entranceNum, delta);
-                entranceNum++;
-            }
-            if (allFinished) {
-                stopWave();
+        for (DefenceField field : fieldManager.getFields()) {
+            WaveState state = getState(field);
+            if (state.isAttackUnderway) {
+                boolean allFinished = true;
+                int entranceNum = 0;
+                for (EntranceInfo info : state.currentWave.entranceInfos) {
+                    allFinished &= !spawnAtEntrance(field, state, info, entranceNum, delta);
+                    entranceNum++;
+                }
+                if (allFinished) {
+                    stopWave(field);
+                }
+                state.remainingDuration -= delta;
             }
-            remainingDuration -= delta;
         }
     }
 
     /**
-     * Begin spawning in the current wave.
+     * Begin spawning in the current wave of a field.
      * Once the wave ends, a new wave will be generated.
+     *
+     * @param field The field to start the attack in
      */
-    public void startAttack() {
-        if (!isAttackUnderway) {
-            isAttackUnderway = true;
+    public void startAttack(DefenceField field) {
+        WaveState state = getState(field);
+        if (!state.isAttackUnderway) {
+            state.isAttackUnderway = true;
 
-            remainingDuration = currentWave.entranceInfos.stream()
+            state.remainingDuration = state.currentWave.entranceInfos.stream()
                     .map(entranceInfo -> entranceInfo.delays
                             .stream()
                             .reduce(0f, Float::sum))
@@ -115,10 +128,10 @@ public class WaveManager extends BaseComponentSystem implements UpdateSubscriber
                     .orElse(0f);
 
             int i = 0;
-            spawnDelays = new float[currentWave.entranceInfos.size()];
-            for (EntranceInfo info : currentWave.entranceInfos) {
+            state.spawnDelays = new float[state.currentWave.entranceInfos.size()];
+            for (EntranceInfo info : state.currentWave.entranceInfos) {
                 if (!info.delays.isEmpty() || !info.prefabs.isEmpty()) {
-                    spawnDelays[i] = info.delays.remove(0);
+                    state.spawnDelays[i] = info.delays.remove(0);
                 }
                 i++;
             }
@@ -128,72 +141,99 @@ public class WaveManager extends BaseComponentSystem implements UpdateSubscriber
     }
 
     /**
-     * @return How much longer the wave is expected to run for.
+     * @param field The field to check
+     * @return How much longer the wave in that field is expected to run for.
      */
-    public float getRemainingDuration() {
-        return remainingDuration;
+    public float getRemainingDuration(DefenceField field) {
+        return getState(field).remainingDuration;
     }
 
     /**
-     * @return True if an attack is currently happening. False otherwise
+     * @param field The field to check
+     * @return True if an attack is currently happening in that field. False otherwise
      */
-    public boolean isAttackUnderway() {
-        return isAttackUnderway;
+    public boolean isAttackUnderway(DefenceField field) {
+        return getState(field).isAttackUnderway;
     }
 
     /**
      * Stops a wave in progress and generates a new wave.
      * Sends out an event when the wave has fully ended
      *
+     * @param field The field to stop the wave in
      * @see OnWaveEnd
      */
-    private void stopWave() {
-        isAttackUnderway = false;
-        statSystem.incrementWave();
-        generateWave(statSystem.getWaveNumber());
-        DefenceField.getShrineEntity().send(new OnWaveEnd());
+    private void stopWave(DefenceField field) {
+        getState(field).isAttackUnderway = false;
+        statSystem.incrementWave(field);
+        generateWave(field, statSystem.getWaveNumber(field));
+        field.getShrineEntity().send(new OnWaveEnd(field));
     }
 
     /**
-     * Updates the system to the selected wave number, then generates a new wave
+     * Generates a new wave for a field, for the selected wave number
      *
-     * @param waveNum The wave number to update to.
+     * @param field   The field to generate the wave for
+     * @param waveNum The wave number to generate for.
      */
-    private void generateWave(int waveNum) {
-        buildValidInfos(waveNum);
-        generateWave();
+    private void generateWave(DefenceField field, int waveNum) {
+        List<WaveInfo> validInfos = buildValidInfos(waveNum);
+        if (validInfos.isEmpty() || waveGenerator.isEndless(waveNum)) {
+            getState(field).currentWave = new WaveInfo(waveGenerator.getWave(waveNum));
+        } else {
+            getState(field).currentWave = new WaveInfo(random.nextItem(validInfos));
+        }
     }
 
     /**
-     * Generates a new wave.
+     * Enables or disables endless mode.
+     * The waves of fields not currently under attack are regenerated straight away.
+     *
+     * @param fromWave The first wave to generate, or a negative value to disable endless mode
+     * @return A confirmation message
      */
-    private void generateWave() {
-        currentWave = new WaveInfo(random.nextItem(validInfos));
+    @Command(shortDescription = "Generates every Gooey Defence wave from the given wave onwards",
+            helpText = "Use a negative wave number to go back to the hand written waves",
+            runOnServer = true,
+            requiredPermission = PermissionManager.DEBUG_PERMISSION)
+    public String defenceEndless(@CommandParam("fromWave") int fromWave) {
+        waveGenerator.setEndlessFrom(fromWave);
+        for (DefenceField field : fieldManager.getFields()) {
+            if (!getState(field).isAttackUnderway) {
+                generateWave(field, statSystem.getWaveNumber(field));
+            }
+        }
+        return fromWave >= 0
+                ? "Generating waves from wave " + fromWave + " onwards"
+                : "Using the hand written waves";
     }
 
     /**
-     * @return The wave currently being spawned, or about to be spawned.
+     * @param field The field to get the wave of
+     * @return The wave currently being spawned, or about to be spawned, in that field.
      */
-    public WaveInfo getCurrentWave() {
-        return currentWave;
+    public WaveInfo getCurrentWave(DefenceField field) {
+        return getState(field).currentWave;
     }
 
     /**
      * Spawns in the enemy for an entrance.
      * Handles the entrance having no more enemies to spawn.
      *
+     * @param field       The field to spawn in
+     * @param state       The wave state of that field
      * @param spawnInfo   The information for that entrance
      * @param entranceNum The id of the entrance to spawn at
      * @param delta       The time the last frame took to execute
      * @return True if an enemy was spawned, false otherwise
      */
-    private boolean spawnAtEntrance(EntranceInfo spawnInfo, int entranceNum, float delta) {
+    private boolean spawnAtEntrance(DefenceField field, WaveState state, EntranceInfo spawnInfo, int entranceNum, float delta) {
         if (!spawnInfo.delays.isEmpty() || !spawnInfo.prefabs.isEmpty()) {
-            spawnDelays[entranceNum] -= delta;
-            if (spawnDelays[entranceNum] <= 0) {
-                enemyManager.spawnEnemy(entranceNum, spawnInfo.prefabs.remove(0));
+            state.spawnDelays[entranceNum] -= delta;
+            if (state.spawnDelays[entranceNum] <= 0) {
+                enemyManager.spawnEnemy(field, entranceNum, spawnInfo.prefabs.remove(0));
                 if (!spawnInfo.delays.isEmpty() || !spawnInfo.prefabs.isEmpty()) {
-                    spawnDelays[entranceNum] = spawnInfo.delays.remove(0);
+                    state.spawnDelays[entranceNum] = spawnInfo.delays.remove(0);
                 }
             }
             return true;
@@ -203,24 +243,33 @@ public class WaveManager extends BaseComponentSystem implements UpdateSubscriber
     }
 
     /**
-     * Collates a list of all the valid WaveInfos for the current wave number
+     * Collates a list of all the valid WaveInfos for a wave number
      * This is based on the ranges specified in the WaveInfo
      * <p>
-     * Note, this is a destructive action.
-     * All wave values that are too low to be valid for the wave number will be removed from the master map.
+     * As each field can be on a different wave, the master map is not modified.
      *
      * @param waveNum The wave to build for
+     * @return All the wave infos valid for that wave
      * @see WaveInfo
      */
-    private void buildValidInfos(int waveNum) {
-        validInfos = new ArrayList<>();
-        waveInfos.headMap(waveNum + 1)
-                .values()
-                .forEach(infoSet -> {
-                    infoSet.removeIf(
-                            waveInfo -> !getWaveRange(waveInfo).contains(waveNum));
-                    validInfos.addAll(infoSet);
-                });
+    private List<WaveInfo> buildValidInfos(int waveNum) {
+        List<WaveInfo> validInfos = new ArrayList<>();
+        for (Set<WaveInfo> infoSet : waveInfos.headMap(waveNum + 1).values()) {
+            for (WaveInfo waveInfo : infoSet) {
+                if (getWaveRange(waveInfo).contains(waveNum)) {
+                    validInfos.add(waveInfo);
+                }
+            }
+        }
+        return validInfos;
+    }
+
+    /**
+     * @param field The field to get the state of
+     * @return The wave state of that field, creating it if needed
+     */
+    private WaveState getState(DefenceField field) {
+        return states.computeIfAbsent(field, key -> new WaveState());
     }
 
     /**
@@ -288,4 +337,23 @@ public class WaveManager extends BaseComponentSystem implements UpdateSubscriber
             }
         }
     }
+
+    /**
+     * The progress of the waves in a single field.
+     */
+    private static final class WaveState {
+        /**
+         * Flag used to indicate that an attack is underway
+         */
+        private boolean isAttackUnderway;
+        /**
+         * A list of the time until another enemy will be spawned at each entrance
+         */
+        private float[] spawnDelays = {};
+        /**
+         * The current wave that is being spawned, or is about to be spawned.
+         */
+        private WaveInfo currentWave = new WaveInfo();
+        private float remainingDuration;
+    }
 }
@@ -16,10 +16,12 @@
 package org.terasology.gooeyDefence.worldGeneration.providers;
 
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.worldGeneration.facets.DefenceFieldFacet;
 import org.terasology.gooeyDefence.worldGeneration.rasterizers.DefenceFieldRasterizer;
-import org.terasology.math.geom.BaseVector3i;
+import org.terasology.math.Region3i;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.registry.CoreRegistry;
 import org.terasology.world.generation.Border3D;
 import org.terasology.world.generation.FacetProvider;
 import org.terasology.world.generation.GeneratingRegion;
@@ -27,6 +29,13 @@ import org.terasology.world.generation.Produces;
 
 /**
  * Fills the {@link DefenceFieldFacet} class with data on the dome.
+ * <p>
+ * A position is part of the dome if either
+ * 1. It is part of the main dome, but not within range of an entrance
+ * 2. It is part of an entrance dome, but outside the main dome
+ * <p>
+ * Rather than testing every position in the region, regions that cannot touch the dome are skipped entirely.
+ * Within the rest, the dome is solved for each column so only the positions in the shell are visited.
  *
  * @see DefenceFieldRasterizer
  * @see DefenceFieldFacet
@@ -39,21 +48,172 @@ public class DefenceFieldProvider implements FacetProvider {
 
         Border3D border = region.getBorderForFacet(DefenceFieldFacet.class);
         DefenceFieldFacet facet = new DefenceFieldFacet(region.getRegion(), border);
-        for (Vector3i pos : region.getRegion()) {
-            /* Generate a border if the position is either
-             * 1. Part of the main dome, but not within range of an entrance
-             * 2. Part of an entrance dome, but outside the main dome
-             */
-            int centreDistance = (int) pos.distance(BaseVector3i.ZERO);
-            int entranceDistance = (int) DefenceField.distanceToNearestEntrance(pos);
-            if (centreDistance == DefenceField.outerRingSize
-                    && entranceDistance >= DefenceField.entranceRingSize) {
-                facet.setWorld(pos, true);
-            } else if (centreDistance >= DefenceField.outerRingSize
-                    && entranceDistance == DefenceField.entranceRingSize) {
-                facet.setWorld(pos, true);
+        DefenceFieldManager fieldManager = CoreRegistry.get(DefenceFieldManager.class);
+        Region3i bounds = region.getRegion();
+
+        /* Split the region into slices that are all nearest to the same field */
+        int sliceStart = bounds.minX();
+        DefenceField sliceField = fieldManager.getNearestField(new Vector3i(sliceStart, 0, 0));
+        for (int x = bounds.minX() + 1; x <= bounds.maxX() + 1; x++) {
+            DefenceField field = x <= bounds.maxX() ? fieldManager.getNearestField(new Vector3i(x, 0, 0)) : null;
+            if (field != sliceField) {
+                if (canIntersectDome(sliceField, sliceStart, x - 1, bounds)) {
+                    generateSlice(facet, sliceField, sliceStart, x - 1, bounds);
+                }
+                sliceStart = x;
+                sliceField = field;
             }
         }
         region.setRegionFacet(DefenceFieldFacet.class, facet);
     }
+
+    /**
+     * Checks if a slice of the region could contain any part of the field's dome.
+     *
+     * @param field  The field the slice belongs to
+     * @param minX   The lowest x value in the slice
+     * @param maxX   The highest x value in the slice
+     * @param bounds The bounds of the region
+     * @return False if the slice is definitely clear of the dome, true otherwise
+     */
+    private boolean canIntersectDome(DefenceField field, int minX, int maxX, Region3i bounds) {
+        if (canIntersectShell(field.getCentre(), field.getOuterRingSize(), minX, maxX, bounds)) {
+            return true;
+        }
+        for (int i = 0; i < field.getEntranceCount(); i++) {
+            if (canIntersectShell(field.entrancePos(i), field.getEntranceRingSize(), minX, maxX, bounds)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a box can contain any position whose distance to a point rounds down to the given radius.
+     *
+     * @param centre The centre of the shell
+     * @param radius The radius of the shell
+     * @param minX   The lowest x value of the box
+     * @param maxX   The highest x value of the box
+     * @param bounds The y and z bounds of the box
+     * @return True if the shell passes through the box
+     */
+    private boolean canIntersectShell(Vector3i centre, int radius, int minX, int maxX, Region3i bounds) {
+        long nearest = square(distanceToRange(centre.x, minX, maxX))
+                + square(distanceToRange(centre.y, bounds.minY(), bounds.maxY()))
+                + square(distanceToRange(centre.z, bounds.minZ(), bounds.maxZ()));
+        long furthest = square(Math.max(Math.abs(centre.x - minX), Math.abs(centre.x - maxX)))
+                + square(Math.max(Math.abs(centre.y - bounds.minY()), Math.abs(centre.y - bounds.maxY())))
+                + square(Math.max(Math.abs(centre.z - bounds.minZ()), Math.abs(centre.z - bounds.maxZ())));
+        return nearest < square(radius + 1) && furthest >= square(radius);
+    }
+
+    /**
+     * Sets all the positions in the slice that are part of the dome.
+     * <p>
+     * All the entrances are level with the centre of the field,
+     * so for a given column both distances only vary by the vertical offset from the centre.
+     * Both dome conditions then reduce to a single range of squared vertical offsets per column.
+     *
+     * @param facet  The facet to fill
+     * @param field  The field the slice belongs to
+     * @param minX   The lowest x value in the slice
+     * @param maxX   The highest x value in the slice
+     * @param bounds The bounds of the region
+     */
+    private void generateSlice(DefenceFieldFacet facet, DefenceField field, int minX, int maxX, Region3i bounds) {
+        int entranceCount = field.getEntranceCount();
+        if (entranceCount == 0) {
+            /* Without any entrances no position can satisfy the entrance distance checks */
+            return;
+        }
+        Vector3i centre = field.getCentre();
+        long outerMin = square(field.getOuterRingSize());
+        long outerMax = square(field.getOuterRingSize() + 1);
+        long entranceMin = square(field.getEntranceRingSize());
+        long entranceMax = square(field.getEntranceRingSize() + 1);
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = bounds.minZ(); z <= bounds.maxZ(); z++) {
+                long centreDistance = square(x - centre.x) + square(z - centre.z);
+                long entranceDistance = Long.MAX_VALUE;
+                for (int i = 0; i < entranceCount; i++) {
+                    Vector3i entrance = field.entrancePos(i);
+                    entranceDistance = Math.min(entranceDistance, square(x - entrance.x) + square(z - entrance.z));
+                }
+
+                /* The range of squared vertical offsets that are in the dome */
+                long lowest = Math.max(0, Math.max(outerMin - centreDistance, entranceMin - entranceDistance));
+                long highest = Math.max(outerMax - centreDistance, entranceMax - entranceDistance);
+                if (lowest >= highest) {
+                    continue;
+                }
+                int minOffset = ceilSqrt(lowest);
+                int maxOffset = floorSqrt(highest - 1);
+                setColumn(facet, x, z, centre.y - maxOffset, centre.y - minOffset, bounds);
+                setColumn(facet, x, z, centre.y + Math.max(minOffset, 1), centre.y + maxOffset, bounds);
+            }
+        }
+    }
+
+    /**
+     * Sets a range of positions in a column, clipped to the bounds of the region.
+     *
+     * @param facet  The facet to fill
+     * @param x      The x position of the column
+     * @param z      The z position of the column
+     * @param minY   The lowest position to set
+     * @param maxY   The highest position to set
+     * @param bounds The bounds of the region
+     */
+    private void setColumn(DefenceFieldFacet facet, int x, int z, int minY, int maxY, Region3i bounds) {
+        int start = Math.max(minY, bounds.minY());
+        int end = Math.min(maxY, bounds.maxY());
+        for (int y = start; y <= end; y++) {
+            facet.setWorld(x, y, z, true);
+        }
+    }
+
+    /**
+     * @param value The value to check
+     * @param min   The start of the range
+     * @param max   The end of the range
+     * @return The distance from the value to the nearest point in the range
+     */
+    private static int distanceToRange(int value, int min, int max) {
+        if (value < min) {
+            return min - value;
+        } else if (value > max) {
+            return value - max;
+        }
+        return 0;
+    }
+
+    private static long square(long value) {
+        return value * value;
+    }
+
+    /**
+     * @param value A non-negative value
+     * @return The largest integer whose square is no larger than the value
+     */
+    private static int floorSqrt(long value) {
+        long root = (long) Math.sqrt(value);
+        while (root * root > value) {
+            root--;
+        }
+        while ((root + 1) * (root + 1) <= value) {
+            root++;
+        }
+        return (int) root;
+    }
+
+    /**
+     * @param value A non-negative value
+     * @return The smallest integer whose square is no smaller than the value
+     */
+    private static int ceilSqrt(long value) {
+        int root = floorSqrt(value);
+        return (long) root * root == value ? root : root + 1;
+    }
 }
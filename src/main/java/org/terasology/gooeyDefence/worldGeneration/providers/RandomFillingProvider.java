@@ -16,11 +16,13 @@
 package org.terasology.gooeyDefence.worldGeneration.providers;
 
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.worldGeneration.facets.RandomFillingFacet;
 import org.terasology.gooeyDefence.worldGeneration.rasterizers.RandomFillingRasterizer;
 import org.terasology.math.geom.BaseVector2i;
 import org.terasology.math.geom.Rect2i;
 import org.terasology.math.geom.Vector3i;
+import org.terasology.registry.CoreRegistry;
 import org.terasology.utilities.procedural.Noise;
 import org.terasology.utilities.procedural.WhiteNoise;
 import org.terasology.world.generation.Border3D;
@@ -30,7 +32,7 @@ import org.terasology.world.generation.Produces;
 
 /**
  * Fills the {@link RandomFillingFacet} with random blocks inside the dome.
- * Leaves a free space around the central shrine and entrances, as dictated by {@link DefenceField}
+ * Leaves a free space around the central shrine and entrances of each {@link DefenceField}
  *
  * @see RandomFillingRasterizer
  * @see RandomFillingFacet
@@ -49,18 +51,27 @@ public class RandomFillingProvider implements FacetProvider {
      * <p>
      * Each valid position has a {@link #SPAWN_CHANCE} chance to spawn
      *
-     * @param pos   The position to query
+     * @param field The field the position is in
+     * @param pos   The world position to query
      * @param noise The noise generator to use
      * @return true if a block should be spawned there. False otherwise
+     * @see DefenceField#isFillable(int, int)
      */
-    public static boolean shouldSpawnBlock(BaseVector2i pos, Noise noise) {
-        double distance = pos.distance(BaseVector2i.ZERO);
-        return distance > DefenceField.shrineRingSize
-                && distance < DefenceField.outerRingSize
-
-                && !DefenceField.inRangeOfEntrance(new Vector3i(pos.x(), 0, pos.y()))
+    public static boolean shouldSpawnBlock(DefenceField field, BaseVector2i pos, Noise noise) {
+        return shouldSpawnBlock(field, pos.x(), pos.y(), noise);
+    }
 
-                && (noise.noise(pos.x(), pos.y()) + 1) / 2 < SPAWN_CHANCE;
+    /**
+     * @param field The field the position is in
+     * @param x     The world x position to query
+     * @param z     The world z position to query
+     * @param noise The noise generator to use
+     * @return true if a block should be spawned there. False otherwise
+     * @see #shouldSpawnBlock(DefenceField, BaseVector2i, Noise)
+     */
+    private static boolean shouldSpawnBlock(DefenceField field, int x, int z, Noise noise) {
+        return field.isFillable(x, z)
+                && (noise.noise(x, z) + 1) / 2 < SPAWN_CHANCE;
     }
 
     @Override
@@ -73,12 +84,17 @@ public class RandomFillingProvider implements FacetProvider {
         Border3D border = region.getBorderForFacet(RandomFillingFacet.class);
         RandomFillingFacet facet = new RandomFillingFacet(region.getRegion(), border);
 
+        DefenceFieldManager fieldManager = CoreRegistry.get(DefenceFieldManager.class);
         Rect2i processRegion = facet.getWorldRegion();
-        for (BaseVector2i pos : processRegion.contents()) {
-            if (shouldSpawnBlock(pos, noise)) {
-                facet.setWorld(pos.x(), pos.y(), true);
+        for (int x = processRegion.minX(); x <= processRegion.maxX(); x++) {
+            /* The nearest field only depends on the x position */
+            DefenceField field = fieldManager.getNearestField(new Vector3i(x, 0, 0));
+            for (int z = processRegion.minY(); z <= processRegion.maxY(); z++) {
+                if (shouldSpawnBlock(field, x, z, noise)) {
+                    facet.setWorld(x, z, true);
+                }
             }
-            region.setRegionFacet(RandomFillingFacet.class, facet);
         }
+        region.setRegionFacet(RandomFillingFacet.class, facet);
     }
 }
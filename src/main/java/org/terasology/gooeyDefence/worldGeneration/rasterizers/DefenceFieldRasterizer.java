@@ -16,6 +16,7 @@
 package org.terasology.gooeyDefence.worldGeneration.rasterizers;
 
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.DefenceUris;
 import org.terasology.gooeyDefence.worldGeneration.facets.DefenceFieldFacet;
 import org.terasology.gooeyDefence.worldGeneration.providers.DefenceFieldProvider;
@@ -40,11 +41,13 @@ import java.util.Map;
 public class DefenceFieldRasterizer implements WorldRasterizer {
     private Block block;
     private Block altBlock;
+    private DefenceFieldManager fieldManager;
 
     @Override
     public void initialize() {
         block = CoreRegistry.get(BlockManager.class).getBlock(DefenceUris.WORLD_BLOCK);
         altBlock = CoreRegistry.get(BlockManager.class).getBlock(DefenceUris.ALT_WORLD_BLOCK);
+        fieldManager = CoreRegistry.get(DefenceFieldManager.class);
     }
 
     @Override
@@ -53,7 +56,8 @@ public class DefenceFieldRasterizer implements WorldRasterizer {
         for (Map.Entry<Vector3i, Boolean> entry : fieldFacet.getWorldEntries().entrySet()) {
             if (entry.getValue()) {
                 Vector3i pos = entry.getKey();
-                if ((int) DefenceField.distanceToNearestEntrance(pos) < DefenceField.entranceRingSize + 2) {
+                DefenceField field = fieldManager.getNearestField(pos);
+                if ((int) field.distanceToNearestEntrance(pos) < field.getEntranceRingSize() + 2) {
                     chunk.setBlock(ChunkMath.calcBlockPos(pos), altBlock);
                 } else {
                     chunk.setBlock(ChunkMath.calcBlockPos(pos), block);
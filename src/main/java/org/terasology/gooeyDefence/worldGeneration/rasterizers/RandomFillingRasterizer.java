@@ -19,6 +19,7 @@ import org.terasology.gooeyDefence.DefenceUris;
 import org.terasology.gooeyDefence.worldGeneration.facets.RandomFillingFacet;
 import org.terasology.gooeyDefence.worldGeneration.providers.RandomFillingProvider;
 import org.terasology.math.ChunkMath;
+import org.terasology.math.Region3i;
 import org.terasology.math.geom.Vector3i;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.world.block.Block;
@@ -47,9 +48,19 @@ public class RandomFillingRasterizer implements WorldRasterizer {
     public void generateChunk(CoreChunk chunk, Region chunkRegion) {
         RandomFillingFacet randomFacet = chunkRegion.getFacet(RandomFillingFacet.class);
         SurfaceHeightFacet surfaceFacet = chunkRegion.getFacet(SurfaceHeightFacet.class);
-        for (Vector3i pos : chunkRegion.getRegion()) {
-            if (randomFacet.getWorld(pos.x, pos.z) && surfaceFacet.getWorld(pos.x, pos.z) == pos.y) {
-                chunk.setBlock(ChunkMath.calcBlockPos(pos), block);
+        Region3i region = chunkRegion.getRegion();
+        Vector3i pos = new Vector3i();
+        /* Only the single surface block in each column can be filled */
+        for (int x = region.minX(); x <= region.maxX(); x++) {
+            for (int z = region.minZ(); z <= region.maxZ(); z++) {
+                if (randomFacet.getWorld(x, z)) {
+                    float height = surfaceFacet.getWorld(x, z);
+                    int y = (int) height;
+                    if (y == height && y >= region.minY() && y <= region.maxY()) {
+                        pos.set(x, y, z);
+                        chunk.setBlock(ChunkMath.calcBlockPos(pos), block);
+                    }
+                }
             }
         }
     }
@@ -16,6 +16,7 @@
 package org.terasology.gooeyDefence.worldGeneration.rasterizers;
 
 import org.terasology.gooeyDefence.DefenceField;
+import org.terasology.gooeyDefence.DefenceFieldManager;
 import org.terasology.gooeyDefence.DefenceUris;
 import org.terasology.math.ChunkMath;
 import org.terasology.math.geom.Vector3i;
@@ -27,26 +28,29 @@ import org.terasology.world.generation.Region;
 import org.terasology.world.generation.WorldRasterizer;
 
 /**
- * Builds a shrine at the origin of the world.
+ * Builds a shrine at the centre of each field.
  *
- * @see DefenceField#shrineData
+ * @see DefenceField#getShrineData()
  */
 public class ShrineRasterizer implements WorldRasterizer {
 
     private Block block;
+    private DefenceFieldManager fieldManager;
 
     @Override
     public void initialize() {
         block = CoreRegistry.get(BlockManager.class).getBlock(DefenceUris.SHRINE);
+        fieldManager = CoreRegistry.get(DefenceFieldManager.class);
     }
 
     @Override
     public void generateChunk(CoreChunk chunk, Region chunkRegion) {
-        Vector3i zero = new Vector3i(0, 0, 0);
-        if (chunkRegion.getRegion().encompasses(zero)) {
+        for (DefenceField field : fieldManager.getFields()) {
             //TODO: Find a better way to create the shrine that isn't StructureTemplates.
-            for (Vector3i pos : DefenceField.shrineData) {
-                chunk.setBlock(ChunkMath.calcBlockPos(pos), block);
+            for (Vector3i pos : field.getShrineData()) {
+                if (chunkRegion.getRegion().encompasses(pos)) {
+                    chunk.setBlock(ChunkMath.calcBlockPos(pos), block);
+                }
             }
         }
     }